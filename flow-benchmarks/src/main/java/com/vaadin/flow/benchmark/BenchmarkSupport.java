@@ -0,0 +1,111 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.server.MockVaadinServletService;
+import com.vaadin.flow.server.MockVaadinSession;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
+
+/**
+ * Helpers for setting up the UI and the synthetic element trees used by the
+ * benchmarks.
+ *
+ * @author Vaadin Ltd
+ * @since 2.1
+ */
+public final class BenchmarkSupport {
+
+    /**
+     * The number of children each element in a synthetic tree has.
+     */
+    public static final int FAN_OUT = 10;
+
+    private BenchmarkSupport() {
+        // Only static helpers
+    }
+
+    /**
+     * Creates a UI attached to a locked session of a real (not mocked)
+     * service so that the measured code doesn't run through mock proxies.
+     * The UI and the session are also set as the current instances.
+     *
+     * @return a new UI, not <code>null</code>
+     */
+    public static UI createUI() {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setXsrfProtectionEnabled(false);
+        return createUI(configuration);
+    }
+
+    /**
+     * Creates a UI attached to a locked session of a real service using the
+     * given configuration.
+     *
+     * @param configuration
+     *            the deployment configuration of the service
+     * @return a new UI, not <code>null</code>
+     */
+    public static UI createUI(DeploymentConfiguration configuration) {
+        MockVaadinServletService service = new MockVaadinServletService(
+                configuration);
+        service.init();
+
+        VaadinSession session = new MockVaadinSession(service);
+        session.lock();
+        VaadinSession.setCurrent(session);
+
+        UI ui = new UI();
+        ui.getInternals().setSession(session);
+        UI.setCurrent(ui);
+        return ui;
+    }
+
+    /**
+     * Creates a detached element tree with the given number of elements in
+     * total. Every element has {@value #FAN_OUT} children until the requested
+     * size is reached and carries an attribute and a property so that all
+     * commonly used node features produce changes.
+     *
+     * @param size
+     *            the number of elements in the tree, including the root
+     * @return the root of the created tree
+     */
+    public static Element createTree(int size) {
+        List<Element> elements = new ArrayList<>(size);
+        Element root = createElement(0);
+        elements.add(root);
+        for (int i = 1; i < size; i++) {
+            Element element = createElement(i);
+            elements.get((i - 1) / FAN_OUT).appendChild(element);
+            elements.add(element);
+        }
+        return root;
+    }
+
+    private static Element createElement(int index) {
+        Element element = new Element("div");
+        element.setAttribute("id", "e" + index);
+        element.setProperty("index", index);
+        return element;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.vaadin.flow.internal.ConstantPool;
+import com.vaadin.flow.internal.ConstantPoolKey;
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
+
+/**
+ * Measures creating {@link ConstantPoolKey} instances, which hashes the JSON
+ * value, and registering them in a {@link ConstantPool}. The JSON values are
+ * shaped like event listener settings and, like for a real UI with one
+ * listener per node, most of them have the same content.
+ *
+ * @author Vaadin Ltd
+ * @since 2.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ConstantPoolKeyBenchmark {
+
+    private static final int DISTINCT_VALUES = 10;
+
+    @Param({ "1000", "10000", "100000" })
+    private int nodes;
+
+    private final List<JsonObject> values = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < nodes; i++) {
+            JsonObject settings = Json.createObject();
+            settings.put("event.key", false);
+            settings.put("event.button", false);
+            settings.put("event.detail", i % DISTINCT_VALUES);
+            values.add(settings);
+        }
+    }
+
+    @Benchmark
+    public void createKeys(Blackhole blackhole) {
+        for (JsonObject value : values) {
+            blackhole.consume(new ConstantPoolKey(value));
+        }
+    }
+
+    @Benchmark
+    public ConstantPool registerKeys() {
+        ConstantPool pool = new ConstantPool();
+        for (JsonObject value : values) {
+            pool.getConstantId(new ConstantPoolKey(value));
+        }
+        return pool;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.data.provider.ArrayUpdater;
+import com.vaadin.flow.data.provider.DataCommunicator;
+import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.StateTree;
+
+import elemental.json.JsonValue;
+
+/**
+ * Measures how a {@link DataCommunicator} flushes the data of the requested
+ * range when scrolling through a list data provider page by page, or when all
+ * data is reset.
+ *
+ * @author Vaadin Ltd
+ * @since 2.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class DataCommunicatorBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({ "1000", "10000", "100000" })
+    private int items;
+
+    private StateTree stateTree;
+
+    private DataCommunicator<Integer> dataCommunicator;
+
+    private int start;
+
+    private int lastUpdateId;
+
+    private final ArrayUpdater arrayUpdater = new ArrayUpdater() {
+        @Override
+        public Update startUpdate(int sizeChange) {
+            return new Update() {
+                @Override
+                public void clear(int start, int length) {
+                    // Nothing is sent anywhere
+                }
+
+                @Override
+                public void set(int start, List<JsonValue> items) {
+                    // Nothing is sent anywhere
+                }
+
+                @Override
+                public void commit(int updateId) {
+                    lastUpdateId = updateId;
+                }
+            };
+        }
+
+        @Override
+        public void initialize() {
+            // Nothing to initialize
+        }
+    };
+
+    @Setup
+    public void setup() {
+        UI ui = BenchmarkSupport.createUI();
+        stateTree = ui.getInternals().getStateTree();
+
+        Element element = new Element("div");
+        ui.getElement().appendChild(element);
+
+        dataCommunicator = new DataCommunicator<>(
+                (item, json) -> json.put("value", "Item " + item),
+                arrayUpdater, data -> {
+                }, element.getNode());
+        dataCommunicator.setDataProvider(
+                DataProvider.ofCollection(IntStream.range(0, items).boxed()
+                        .collect(Collectors.toList())),
+                null);
+        dataCommunicator.setRequestedRange(0, PAGE_SIZE);
+        flush();
+    }
+
+    private void flush() {
+        stateTree.runExecutionsBeforeClientResponse();
+        dataCommunicator.confirmUpdate(lastUpdateId);
+    }
+
+    @Benchmark
+    public int scroll() {
+        start = (start + PAGE_SIZE) % items;
+        dataCommunicator.setRequestedRange(start, PAGE_SIZE);
+        flush();
+        return lastUpdateId;
+    }
+
+    @Benchmark
+    public int reset() {
+        dataCommunicator.reset();
+        flush();
+        return lastUpdateId;
+    }
+}
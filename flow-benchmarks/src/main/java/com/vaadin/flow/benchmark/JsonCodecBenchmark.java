@@ -0,0 +1,108 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.JsonCodec;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+
+/**
+ * Measures {@link JsonCodec#encodeWithTypeInfo(Object)} for the elements of a
+ * synthetic tree and for the same number of values of the other supported
+ * types.
+ *
+ * @author Vaadin Ltd
+ * @since 2.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class JsonCodecBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    private int nodes;
+
+    private final List<Element> elements = new ArrayList<>();
+
+    private final List<Serializable> values = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        UI ui = BenchmarkSupport.createUI();
+        Element tree = BenchmarkSupport.createTree(nodes);
+        ui.getElement().appendChild(tree);
+        collect(tree);
+
+        for (int i = 0; i < nodes; i++) {
+            switch (i % 5) {
+            case 0:
+                values.add("value" + i);
+                break;
+            case 1:
+                values.add(Integer.valueOf(i));
+                break;
+            case 2:
+                values.add(Double.valueOf(i / 2.0));
+                break;
+            case 3:
+                values.add(Boolean.valueOf(i % 2 == 0));
+                break;
+            default:
+                JsonArray array = Json.createArray();
+                array.set(0, i);
+                array.set(1, "item" + i);
+                values.add(array);
+            }
+        }
+    }
+
+    private void collect(Element element) {
+        elements.add(element);
+        element.getChildren().forEach(this::collect);
+    }
+
+    @Benchmark
+    public void encodeElements(Blackhole blackhole) {
+        for (Element element : elements) {
+            blackhole.consume(JsonCodec.encodeWithTypeInfo(element));
+        }
+    }
+
+    @Benchmark
+    public void encodeValues(Blackhole blackhole) {
+        for (Serializable value : values) {
+            blackhole.consume(JsonCodec.encodeWithTypeInfo(value));
+        }
+    }
+}
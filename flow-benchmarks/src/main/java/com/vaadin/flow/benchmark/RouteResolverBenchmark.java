@@ -0,0 +1,117 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.router.BeforeEvent;
+import com.vaadin.flow.router.HasUrlParameter;
+import com.vaadin.flow.router.Location;
+import com.vaadin.flow.router.NavigationState;
+import com.vaadin.flow.router.RouteConfiguration;
+import com.vaadin.flow.router.Router;
+import com.vaadin.flow.router.TestRouteRegistry;
+import com.vaadin.flow.router.internal.DefaultRouteResolver;
+import com.vaadin.flow.router.internal.ResolveRequest;
+
+/**
+ * Measures {@link DefaultRouteResolver#resolve(ResolveRequest)} in a registry
+ * with the given number of routes, both for a plain route and for a route
+ * with a URL parameter.
+ *
+ * @author Vaadin Ltd
+ * @since 2.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class RouteResolverBenchmark {
+
+    /**
+     * Target for the routes without parameters.
+     */
+    @Tag("div")
+    public static class View extends Component {
+    }
+
+    /**
+     * Target for the routes with a parameter.
+     */
+    @Tag("div")
+    public static class ParameterView extends Component
+            implements HasUrlParameter<String> {
+        @Override
+        public void setParameter(BeforeEvent event, String parameter) {
+            // Not navigated to
+        }
+    }
+
+    @Param({ "1000", "10000", "100000" })
+    private int routes;
+
+    private final DefaultRouteResolver resolver = new DefaultRouteResolver();
+
+    private ResolveRequest viewRequest;
+
+    private ResolveRequest parameterRequest;
+
+    @Setup
+    public void setup() {
+        TestRouteRegistry registry = new TestRouteRegistry();
+        RouteConfiguration configuration = RouteConfiguration
+                .forRegistry(registry);
+        configuration.update(() -> {
+            for (int i = 0; i < routes; i++) {
+                if (i % 2 == 0) {
+                    configuration.setRoute("section" + i % 100 + "/view" + i,
+                            View.class);
+                } else {
+                    configuration.setRoute("section" + i % 100 + "/item" + i,
+                            ParameterView.class);
+                }
+            }
+        });
+
+        Router router = new Router(registry);
+        int last = routes - 1;
+        viewRequest = new ResolveRequest(router,
+                new Location("section" + (last - 1) % 100 + "/view"
+                        + (last - 1)));
+        parameterRequest = new ResolveRequest(router, new Location(
+                "section" + last % 100 + "/item" + last + "/1234"));
+    }
+
+    @Benchmark
+    public NavigationState resolveView() {
+        return resolver.resolve(viewRequest);
+    }
+
+    @Benchmark
+    public NavigationState resolveWithParameter() {
+        return resolver.resolve(parameterRequest);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.communication.ServerRpcHandler;
+import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.flow.shared.JsonConstants;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+
+/**
+ * Measures {@link ServerRpcHandler#handleRpc(UI, String, VaadinRequest)} for
+ * a message with a batch of DOM events targeting nodes spread over a synthetic
+ * tree.
+ *
+ * @author Vaadin Ltd
+ * @since 2.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ServerRpcHandlerBenchmark {
+
+    private static final int EVENTS_PER_MESSAGE = 100;
+
+    @Param({ "1000", "10000", "100000" })
+    private int nodes;
+
+    private UI ui;
+
+    private VaadinRequest request;
+
+    private String message;
+
+    private int handledEvents;
+
+    private final ServerRpcHandler rpcHandler = new ServerRpcHandler();
+
+    @Setup
+    public void setup() {
+        ui = BenchmarkSupport.createUI();
+        request = Mockito.mock(VaadinRequest.class);
+        Mockito.when(request.getService())
+                .thenReturn(ui.getSession().getService());
+
+        Element tree = BenchmarkSupport.createTree(nodes);
+        ui.getElement().appendChild(tree);
+        List<Element> elements = new ArrayList<>();
+        collect(tree, elements);
+
+        JsonArray invocations = Json.createArray();
+        int step = Math.max(1, elements.size() / EVENTS_PER_MESSAGE);
+        for (int i = 0; i < EVENTS_PER_MESSAGE; i++) {
+            Element target = elements.get(i * step % elements.size());
+            target.addEventListener("click", event -> handledEvents++);
+
+            JsonObject invocation = Json.createObject();
+            invocation.put(JsonConstants.RPC_TYPE,
+                    JsonConstants.RPC_TYPE_EVENT);
+            invocation.put(JsonConstants.RPC_NODE,
+                    target.getNode().getId());
+            invocation.put(JsonConstants.RPC_EVENT_TYPE, "click");
+            invocations.set(invocations.length(), invocation);
+        }
+
+        // No client id means that the message is not checked for duplicates
+        JsonObject json = Json.createObject();
+        json.put(ApplicationConstants.CLIENT_TO_SERVER_ID, -1);
+        json.put(ApplicationConstants.SERVER_SYNC_ID, 0);
+        json.put(ApplicationConstants.RPC_INVOCATIONS, invocations);
+        message = json.toJson();
+
+        // Send the initial state so that the nodes are known by the client
+        ui.getInternals().getStateTree().collectChanges(change -> {
+        });
+    }
+
+    private static void collect(Element element, List<Element> elements) {
+        elements.add(element);
+        element.getChildren().forEach(child -> collect(child, elements));
+    }
+
+    @Benchmark
+    public int handleRpc() throws Exception {
+        rpcHandler.handleRpc(ui, message, request);
+        return handledEvents;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import javax.servlet.http.HttpSession;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.vaadin.flow.server.MockVaadinServletService;
+import com.vaadin.flow.server.WrappedHttpSession;
+import com.vaadin.flow.server.WrappedSession;
+
+/**
+ * Measures the throughput of locking sessions that do not yet have a lock,
+ * i.e. the first request of every new session.
+ * <p>
+ * Run with an increasing number of threads to see how the creation of session
+ * locks scales with the number of cores, e.g.
+ * {@code java -jar target/benchmarks.jar SessionLockBenchmark -t 1 -t 4}.
+ *
+ * @author Vaadin Ltd
+ * @since 2.1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class SessionLockBenchmark {
+
+    /**
+     * Exposes the protected session locking methods of the service.
+     */
+    public static class LockingService extends MockVaadinServletService {
+        /**
+         * Locks and unlocks the given wrapped session.
+         *
+         * @param wrappedSession
+         *            the session to lock
+         */
+        public void lockAndUnlock(WrappedSession wrappedSession) {
+            lockSession(wrappedSession);
+            unlockSession(wrappedSession);
+        }
+    }
+
+    private LockingService service;
+
+    @Setup
+    public void setup() {
+        service = new LockingService();
+    }
+
+    @Benchmark
+    public WrappedSession lockNewSession() {
+        WrappedSession wrappedSession = new WrappedHttpSession(
+                new InMemoryHttpSession());
+        service.lockAndUnlock(wrappedSession);
+        return wrappedSession;
+    }
+
+    @Benchmark
+    public WrappedSession lockExistingSession(SessionState state) {
+        // Each request wraps the HTTP session again
+        WrappedSession wrappedSession = new WrappedHttpSession(
+                state.httpSession);
+        service.lockAndUnlock(wrappedSession);
+        return wrappedSession;
+    }
+
+    /**
+     * A session which is used by one thread only.
+     */
+    @State(Scope.Thread)
+    public static class SessionState {
+        private final HttpSession httpSession = new InMemoryHttpSession();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.StateTree;
+
+/**
+ * Measures {@link StateTree#collectChanges(java.util.function.Consumer)} for
+ * a synthetic tree which has just been attached, i.e. the full state of every
+ * node is reported.
+ * <p>
+ * The tree is attached before and detached after every invocation. This is
+ * fine since collecting the changes of the measured tree sizes takes much
+ * longer than the overhead of invocation level fixtures.
+ *
+ * @author Vaadin Ltd
+ * @since 2.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class StateTreeBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    private int nodes;
+
+    private UI ui;
+
+    private StateTree stateTree;
+
+    private Element tree;
+
+    @Setup
+    public void setup() {
+        ui = BenchmarkSupport.createUI();
+        stateTree = ui.getInternals().getStateTree();
+        tree = BenchmarkSupport.createTree(nodes);
+    }
+
+    @Setup(Level.Invocation)
+    public void attach() {
+        ui.getElement().appendChild(tree);
+    }
+
+    @TearDown(Level.Invocation)
+    public void detach() {
+        tree.removeFromParent();
+        stateTree.collectChanges(change -> {
+        });
+    }
+
+    @Benchmark
+    public void collectChanges(Blackhole blackhole) {
+        stateTree.collectChanges(blackhole::consume);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.StateTree;
+
+/**
+ * Measures collecting the changes of a response which updates a property of a
+ * few hundred nodes in a large attached tree, like a live dashboard does. Run
+ * with {@code -prof gc} to see the allocation rate, e.g.
+ * {@code java -jar target/benchmarks.jar StateTreeUpdateBenchmark -prof gc}.
+ *
+ * @author Vaadin Ltd
+ * @since 2.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class StateTreeUpdateBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    private int nodes;
+
+    @Param({ "300" })
+    private int updatedNodes;
+
+    private StateTree stateTree;
+
+    private final List<Element> updated = new ArrayList<>();
+
+    private int round;
+
+    @Setup
+    public void setup() {
+        UI ui = BenchmarkSupport.createUI();
+        stateTree = ui.getInternals().getStateTree();
+
+        Element tree = BenchmarkSupport.createTree(nodes);
+        ui.getElement().appendChild(tree);
+
+        List<Element> elements = new ArrayList<>();
+        collect(tree, elements);
+        int step = Math.max(1, elements.size() / updatedNodes);
+        for (int i = 0; i < updatedNodes && i * step < elements.size(); i++) {
+            updated.add(elements.get(i * step));
+        }
+
+        stateTree.collectChanges(change -> {
+        });
+    }
+
+    private static void collect(Element element, List<Element> elements) {
+        elements.add(element);
+        element.getChildren().forEach(child -> collect(child, elements));
+    }
+
+    @Benchmark
+    public void updateAndCollectChanges(Blackhole blackhole) {
+        round++;
+        for (Element element : updated) {
+            element.setProperty("value", round);
+        }
+        stateTree.collectChanges(blackhole::consume);
+    }
+}
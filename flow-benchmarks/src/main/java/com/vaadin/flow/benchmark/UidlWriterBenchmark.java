@@ -0,0 +1,135 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.server.Constants;
+import com.vaadin.flow.server.communication.UidlWriter;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
+
+import elemental.json.JsonObject;
+
+/**
+ * Measures building the UIDL response for a synthetic tree which has just
+ * been attached: as a JSON tree, as a JSON tree serialized to a string, and
+ * streamed directly to a writer. Only the streamed response can serialize
+ * the changes in parallel.
+ *
+ * @author Vaadin Ltd
+ * @since 2.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class UidlWriterBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    private int nodes;
+
+    /**
+     * The number of changes from which on they are serialized in parallel, 0
+     * to always serialize serially.
+     */
+    @Param({ "0", "1000" })
+    private int parallelThreshold;
+
+    private UI ui;
+
+    private Element tree;
+
+    private final UidlWriter uidlWriter = new UidlWriter();
+
+    /**
+     * A writer which only counts the written characters.
+     */
+    private static class CountingWriter extends Writer {
+        private long count;
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void flush() {
+            // Nothing to flush
+        }
+
+        @Override
+        public void close() {
+            // Nothing to close
+        }
+    }
+
+    @Setup
+    public void setup() {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                Constants.SERVLET_PARAMETER_PARALLEL_CHANGE_ENCODING_THRESHOLD,
+                String.valueOf(parallelThreshold));
+        ui = BenchmarkSupport.createUI(configuration);
+        tree = BenchmarkSupport.createTree(nodes);
+    }
+
+    @Setup(Level.Invocation)
+    public void attach() {
+        ui.getElement().appendChild(tree);
+    }
+
+    @TearDown(Level.Invocation)
+    public void detach() {
+        tree.removeFromParent();
+        uidlWriter.createUidl(ui, false);
+    }
+
+    @Benchmark
+    public JsonObject createUidl() {
+        return uidlWriter.createUidl(ui, false);
+    }
+
+    @Benchmark
+    public String createUidlAsString() {
+        return uidlWriter.createUidl(ui, false).toJson();
+    }
+
+    @Benchmark
+    public long writeUidl() throws IOException {
+        CountingWriter writer = new CountingWriter();
+        uidlWriter.writeUidl(ui, false, writer);
+        return writer.count;
+    }
+}
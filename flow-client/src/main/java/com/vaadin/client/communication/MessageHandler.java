@@ -372,6 +372,12 @@ public class MessageHandler {
                 constantPool.importFromJson(constants);
             }
 
+            if (isResynchronize(valueMap)) {
+                // The changes contain the full state of the server side tree
+                Console.log("Rebuilding the state tree from the server");
+                registry.getStateTree().prepareForResync();
+            }
+
             if (json.hasKey("changes")) {
                 processChanges(json);
             }
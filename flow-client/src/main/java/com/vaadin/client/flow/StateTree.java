@@ -22,6 +22,7 @@ import com.vaadin.client.flow.collection.JsArray;
 import com.vaadin.client.flow.collection.JsCollections;
 import com.vaadin.client.flow.collection.JsMap;
 import com.vaadin.client.flow.nodefeature.MapProperty;
+import com.vaadin.client.flow.nodefeature.NodeList;
 import com.vaadin.client.flow.nodefeature.NodeMap;
 import com.vaadin.flow.internal.nodefeature.NodeFeatures;
 import com.vaadin.flow.internal.nodefeature.NodeProperties;
@@ -124,6 +125,30 @@ public class StateTree {
         node.unregister();
     }
 
+    /**
+     * Prepares this tree for being rebuilt from a full server side snapshot.
+     * All nodes except the root node are unregistered and all child lists of
+     * the root node are emptied so that the snapshot can be applied as if the
+     * tree was newly created.
+     */
+    public void prepareForResync() {
+        rootNode.forEachFeature((feature, featureId) -> {
+            if (feature instanceof NodeList) {
+                NodeList list = (NodeList) feature;
+                list.splice(0, list.length());
+            }
+        });
+
+        JsArray<StateNode> nodes = idToNode.mapValues();
+        for (int i = 0; i < nodes.length(); i++) {
+            StateNode node = nodes.get(i);
+            if (node != rootNode) {
+                unregisterNode(node);
+                node.setParent(null);
+            }
+        }
+    }
+
     /**
      * Verifies that the provided node is not null and properly registered with
      * this state tree.
@@ -116,6 +116,24 @@ public class StateTreeTest {
         tree.registerNode(null);
     }
 
+    @Test
+    public void prepareForResync_nodesUnregisteredAndRootChildrenRemoved() {
+        tree.registerNode(node);
+        node.setParent(tree.getRootNode());
+        tree.getRootNode().getList(NodeFeatures.ELEMENT_CHILDREN).add(0,
+                node);
+
+        tree.prepareForResync();
+
+        Assert.assertTrue(node.isUnregistered());
+        Assert.assertNull(tree.getNode(node.getId()));
+        Assert.assertNull(node.getParent());
+        Assert.assertEquals(0, tree.getRootNode()
+                .getList(NodeFeatures.ELEMENT_CHILDREN).length());
+        Assert.assertSame(tree.getRootNode(),
+                tree.getNode(tree.getRootNode().getId()));
+    }
+
     @Test
     public void testNodeUnregister() {
         tree.registerNode(node);
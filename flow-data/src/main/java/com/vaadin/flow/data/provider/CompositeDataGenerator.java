@@ -16,6 +16,7 @@
 package com.vaadin.flow.data.provider;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import com.vaadin.flow.shared.Registration;
@@ -47,6 +48,12 @@ public class CompositeDataGenerator<T>
                 .forEach(generator -> generator.generateData(item, jsonObject));
     }
 
+    @Override
+    public void generateData(List<T> items, List<JsonObject> jsonObjects) {
+        dataGenerators.forEach(
+                generator -> generator.generateData(items, jsonObjects));
+    }
+
     @Override
     public void destroyData(T item) {
         dataGenerators.forEach(generator -> generator.destroyData(item));
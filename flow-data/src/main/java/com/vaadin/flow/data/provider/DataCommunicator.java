@@ -24,6 +24,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -35,6 +37,7 @@ import com.vaadin.flow.data.provider.ArrayUpdater.Update;
 import com.vaadin.flow.data.provider.DataChangeEvent.DataRefreshEvent;
 import com.vaadin.flow.function.SerializableComparator;
 import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.function.SerializableSupplier;
 import com.vaadin.flow.internal.ExecutionContext;
 import com.vaadin.flow.internal.JsonUtils;
 import com.vaadin.flow.internal.Range;
@@ -101,6 +104,40 @@ public class DataCommunicator<T> implements Serializable {
     private SerializableConsumer<ExecutionContext> flushRequest;
     private SerializableConsumer<ExecutionContext> flushUpdatedDataRequest;
 
+    private int prefetchSize;
+    private SerializableSupplier<Executor> prefetchExecutor;
+    private Prefetch<T> prefetch;
+
+    /**
+     * Items following the requested range that are being fetched in the
+     * background. The items are not retained over serialization.
+     */
+    private static class Prefetch<T> implements Serializable {
+        private final Range range;
+        private final transient CompletableFuture<List<T>> items;
+
+        private Prefetch(Range range, CompletableFuture<List<T>> items) {
+            this.range = range;
+            this.items = items;
+        }
+
+        private List<T> getItems(Range requested) {
+            if (items == null || !items.isDone()
+                    || items.isCompletedExceptionally()
+                    || !requested.isSubsetOf(range)) {
+                return null;
+            }
+            List<T> fetched = items.join();
+            if (fetched.size() > range.length()) {
+                // Let a regular fetch report the broken contract
+                return null;
+            }
+            int start = requested.getStart() - range.getStart();
+            int end = Math.min(start + requested.length(), fetched.size());
+            return fetched.subList(Math.min(start, end), end);
+        }
+    }
+
     private static class SizeVerifier<T> implements Consumer<T>, Serializable {
 
         private int size;
@@ -171,6 +208,7 @@ public class DataCommunicator<T> implements Serializable {
      */
     public void reset() {
         resendEntireRange = true;
+        prefetch = null;
         dataGenerator.destroyAllData();
         updatedData.clear();
         requestFlush();
@@ -188,6 +226,7 @@ public class DataCommunicator<T> implements Serializable {
         getKeyMapper().refresh(data);
         dataGenerator.refreshData(data);
         updatedData.add(data);
+        prefetch = null;
         requestFlushUpdatedData();
     }
 
@@ -325,6 +364,51 @@ public class DataCommunicator<T> implements Serializable {
         return Collections.unmodifiableList(backEndSorting);
     }
 
+    /**
+     * Sets the number of items following the requested range to fetch in the
+     * background, so that they are already available when the client scrolls
+     * further. Prefetching is disabled by default and only used with data
+     * providers that are not in-memory.
+     * <p>
+     * The items are fetched directly from the data provider on a thread of the
+     * given executor, without holding the session lock. The data provider must
+     * thus be safe to call from any thread and must not rely on thread bound
+     * state such as {@code UI.getCurrent()}. Prefetched items are discarded
+     * whenever the data is reset or refreshed.
+     *
+     * @param prefetchSize
+     *            the number of items to prefetch, or {@code 0} to disable
+     *            prefetching
+     * @param executor
+     *            supplier of the executor that runs the background fetches,
+     *            not {@code null} if {@code prefetchSize} is positive
+     */
+    public void setPrefetch(int prefetchSize,
+            SerializableSupplier<Executor> executor) {
+        if (prefetchSize < 0) {
+            throw new IllegalArgumentException(
+                    "Prefetch size cannot be negative");
+        }
+        if (prefetchSize > 0) {
+            Objects.requireNonNull(executor, "Executor cannot be null");
+        }
+        this.prefetchSize = prefetchSize;
+        this.prefetchExecutor = executor;
+        prefetch = null;
+    }
+
+    /**
+     * Gets the number of items following the requested range that are fetched
+     * in the background.
+     *
+     * @return the number of items to prefetch, {@code 0} if prefetching is
+     *         disabled
+     * @see #setPrefetch(int, SerializableSupplier)
+     */
+    public int getPrefetchSize() {
+        return prefetchSize;
+    }
+
     /**
      * Getter method for finding the size of DataProvider. Can be overridden by
      * a subclass that uses a specific type of DataProvider and/or query.
@@ -485,13 +569,41 @@ public class DataCommunicator<T> implements Serializable {
 
         // Phase 4: unregister passivated and updated items
         unregisterPassivatedKeys();
+
+        // Phase 5: start fetching the items the client is likely to need next
+        startPrefetch(effectiveRequested);
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private void startPrefetch(Range requested) {
+        if (prefetchSize == 0 || requested.isEmpty()
+                || getDataProvider().isInMemory()) {
+            return;
+        }
+        Range next = Range.withLength(requested.getEnd(), prefetchSize)
+                .restrictTo(Range.withLength(0, assumedSize));
+        if (next.isEmpty()
+                || (prefetch != null && prefetch.range.equals(next))) {
+            return;
+        }
+        Executor executor = prefetchExecutor.get();
+        if (executor == null) {
+            return;
+        }
+        DataProvider provider = getDataProvider();
+        Query query = new Query(next.getStart(), next.length(),
+                new ArrayList<>(backEndSorting), inMemorySorting, filter);
+        prefetch = new Prefetch<>(next, CompletableFuture.supplyAsync(
+                () -> (List<T>) provider.fetch(query)
+                        .collect(Collectors.toList()),
+                executor));
     }
 
     private void flushUpdatedData() {
         if (updatedData.isEmpty()) {
             return;
         }
-        dataUpdater.accept(updatedData.stream().map(this::generateJson)
+        dataUpdater.accept(generateJson(new ArrayList<>(updatedData)).stream()
                 .collect(JsonUtils.asArray()));
         updatedData.clear();
     }
@@ -611,10 +723,9 @@ public class DataCommunicator<T> implements Serializable {
     }
 
     private List<JsonValue> getJsonItems(Range range) {
-        return range.stream()
+        return generateJson(range.stream()
                 .mapToObj(index -> activeKeyOrder.get(index - activeStart))
-                .map(keyMapper::get).map(this::generateJson)
-                .collect(Collectors.toList());
+                .map(keyMapper::get).collect(Collectors.toList()));
     }
 
     private static final void withMissing(Range expected, Range actual,
@@ -639,7 +750,11 @@ public class DataCommunicator<T> implements Serializable {
 
         // XXX Explicitly refresh anything that is updated
         List<String> activeKeys = new ArrayList<>(range.length());
-        fetchFromProvider(range.getStart(), range.length()).forEach(bean -> {
+        List<T> prefetched = prefetch == null ? null
+                : prefetch.getItems(range);
+        Stream<T> items = prefetched != null ? prefetched.stream()
+                : fetchFromProvider(range.getStart(), range.length());
+        items.forEach(bean -> {
             boolean mapperHasKey = keyMapper.has(bean);
             String key = keyMapper.key(bean);
             if (mapperHasKey) {
@@ -654,11 +769,15 @@ public class DataCommunicator<T> implements Serializable {
         return new Activation(activeKeys, needsSizeRecheck);
     }
 
-    private JsonValue generateJson(T item) {
-        JsonObject json = Json.createObject();
-        json.put("key", getKeyMapper().key(item));
-        dataGenerator.generateData(item, json);
-        return json;
+    private List<JsonValue> generateJson(List<T> items) {
+        List<JsonObject> jsonObjects = new ArrayList<>(items.size());
+        for (T item : items) {
+            JsonObject json = Json.createObject();
+            json.put("key", getKeyMapper().key(item));
+            jsonObjects.add(json);
+        }
+        dataGenerator.generateData(items, jsonObjects);
+        return new ArrayList<>(jsonObjects);
     }
 
     private static class Activation implements Serializable {
@@ -16,6 +16,7 @@
 package com.vaadin.flow.data.provider;
 
 import java.io.Serializable;
+import java.util.List;
 
 import elemental.json.JsonObject;
 
@@ -44,6 +45,29 @@ public interface DataGenerator<T> extends Serializable {
      */
     void generateData(T item, JsonObject jsonObject);
 
+    /**
+     * Adds custom data for the given items to their serialized
+     * {@code JsonObject} representations. The items and JSON objects are
+     * matched by their position in the lists.
+     * <p>
+     * The default implementation calls {@link #generateData(Object, JsonObject)}
+     * for each item. Generators may override this to handle a whole page of
+     * items at once, e.g. to fetch related data from a back-end with a single
+     * call.
+     *
+     * @param items
+     *            the data items being serialized, not {@code null}
+     * @param jsonObjects
+     *            the JSON objects being sent to the client, in the same order
+     *            as the items, not {@code null}
+     */
+    default void generateData(List<T> items, List<JsonObject> jsonObjects) {
+        assert items.size() == jsonObjects.size();
+        for (int i = 0; i < items.size(); i++) {
+            generateData(items.get(i), jsonObjects.get(i));
+        }
+    }
+
     /**
      * Informs the {@code DataGenerator} that the given data item has been
      * dropped and is no longer needed. This method should clean up any unneeded
@@ -15,10 +15,14 @@
  */
 package com.vaadin.flow.data.provider;
 
+import java.io.Serializable;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.vaadin.flow.function.SerializableComparator;
@@ -41,6 +45,41 @@ public class ListDataProvider<T>
 
     private final Collection<T> backend;
 
+    private boolean sortedItemsCached;
+
+    private transient volatile SortedItems<T> sortedItems;
+
+    /**
+     * Filtered and sorted items for a given query filter and in-memory
+     * sorting. Instances are immutable so that a data provider shared between
+     * sessions can replace them without locking.
+     */
+    private static class SortedItems<T> implements Serializable {
+        private final Object filter;
+        private final Comparator<T> sorting;
+        private final int backendSize;
+        private final List<T> items;
+
+        private SortedItems(Object filter, Comparator<T> sorting,
+                int backendSize, List<T> items) {
+            this.filter = filter;
+            this.sorting = sorting;
+            this.backendSize = backendSize;
+            this.items = items;
+        }
+
+        private boolean matches(Object filter, int backendSize) {
+            return this.backendSize == backendSize
+                    && Objects.equals(this.filter, filter);
+        }
+
+        private boolean matches(Object filter, Comparator<T> sorting,
+                int backendSize) {
+            return matches(filter, backendSize)
+                    && Objects.equals(this.sorting, sorting);
+        }
+    }
+
     /**
      * Constructs a new ListDataProvider.
      * <p>
@@ -66,15 +105,63 @@ public class ListDataProvider<T>
         return backend;
     }
 
+    /**
+     * Sets whether the filtered and sorted items of the latest sorted query
+     * are kept in memory. When enabled, consecutive queries with the same
+     * filter and sorting, e.g. when scrolling through a sorted grid, only
+     * need to take a slice of the kept items instead of sorting the whole
+     * collection again. Filters are compared using
+     * {@link Object#equals(Object)}, so queries need to use the same filter
+     * instance to benefit from the kept items.
+     * <p>
+     * The kept items are only discarded when the data provider is refreshed
+     * using {@link #refreshAll()} or {@link #refreshItem(Object)}, or when
+     * the size of the backing collection changes. Any other changes to the
+     * items are not visible until the data provider is refreshed.
+     * <p>
+     * Sorted items are not kept by default.
+     *
+     * @param sortedItemsCached
+     *            <code>true</code> to keep the items of the latest sorted
+     *            query in memory, <code>false</code> to sort the items for
+     *            every query
+     * @since 2.1
+     */
+    public void setSortedItemsCached(boolean sortedItemsCached) {
+        this.sortedItemsCached = sortedItemsCached;
+        sortedItems = null;
+    }
+
+    /**
+     * Gets whether the filtered and sorted items of the latest sorted query
+     * are kept in memory.
+     *
+     * @return <code>true</code> if the items of the latest sorted query are
+     *         kept in memory, <code>false</code> otherwise
+     * @see #setSortedItemsCached(boolean)
+     * @since 2.1
+     */
+    public boolean isSortedItemsCached() {
+        return sortedItemsCached;
+    }
+
     @Override
     public Stream<T> fetch(Query<T, SerializablePredicate<T>> query) {
-        Stream<T> stream = getFilteredStream(query);
-
         Optional<Comparator<T>> comparing = Stream
                 .of(query.getInMemorySorting(), sortOrder)
                 .filter(Objects::nonNull)
                 .reduce((c1, c2) -> c1.thenComparing(c2));
 
+        if (sortedItemsCached && comparing.isPresent()) {
+            List<T> items = getSortedItems(query, comparing.get());
+            int from = Math.min(query.getOffset(), items.size());
+            int to = (int) Math.min((long) from + query.getLimit(),
+                    items.size());
+            return items.subList(from, to).stream();
+        }
+
+        Stream<T> stream = getFilteredStream(query);
+
         if (comparing.isPresent()) {
             stream = stream.sorted(comparing.get());
         }
@@ -84,9 +171,49 @@ public class ListDataProvider<T>
 
     @Override
     public int size(Query<T, SerializablePredicate<T>> query) {
+        SortedItems<T> cached = sortedItems;
+        if (cached != null && cached.matches(query.getFilter().orElse(null),
+                backend.size())) {
+            return cached.items.size();
+        }
         return (int) getFilteredStream(query).count();
     }
 
+    @Override
+    public void refreshAll() {
+        sortedItems = null;
+        super.refreshAll();
+    }
+
+    @Override
+    public void refreshItem(T item) {
+        sortedItems = null;
+        super.refreshItem(item);
+    }
+
+    @Override
+    public void refreshItem(T item, boolean refreshChildren) {
+        sortedItems = null;
+        super.refreshItem(item, refreshChildren);
+    }
+
+    private List<T> getSortedItems(Query<T, SerializablePredicate<T>> query,
+            Comparator<T> comparing) {
+        Object queryFilter = query.getFilter().orElse(null);
+        Comparator<T> querySorting = query.getInMemorySorting();
+        int backendSize = backend.size();
+
+        SortedItems<T> cached = sortedItems;
+        if (cached == null
+                || !cached.matches(queryFilter, querySorting, backendSize)) {
+            cached = new SortedItems<>(queryFilter, querySorting, backendSize,
+                    Collections.unmodifiableList(getFilteredStream(query)
+                            .sorted(comparing).collect(Collectors.toList())));
+            sortedItems = cached;
+        }
+        return cached.items;
+    }
+
     private Stream<T> getFilteredStream(
             Query<T, SerializablePredicate<T>> query) {
         Stream<T> stream = backend.stream();
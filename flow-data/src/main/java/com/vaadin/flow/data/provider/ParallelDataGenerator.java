@@ -0,0 +1,92 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import elemental.json.JsonObject;
+
+/**
+ * A {@link DataGenerator} wrapper that generates the data for large batches of
+ * items in parallel.
+ * <p>
+ * Batches with at least the given number of items are split over the common
+ * fork-join pool, smaller batches are generated on the calling thread. Only
+ * use this for generators that are stateless and thread safe, and that do not
+ * rely on thread bound state such as {@code UI.getCurrent()} or
+ * {@code VaadinSession.getCurrent()}, which are not available on the pool
+ * threads.
+ *
+ * @author Vaadin Ltd
+ * @since 2.1
+ *
+ * @param <T>
+ *            the data type
+ */
+public class ParallelDataGenerator<T> implements DataGenerator<T> {
+
+    private final DataGenerator<T> generator;
+    private final int parallelThreshold;
+
+    /**
+     * Creates a new parallel data generator.
+     *
+     * @param generator
+     *            the stateless generator to delegate to, not {@code null}
+     * @param parallelThreshold
+     *            the minimum number of items in a batch for generating the data
+     *            in parallel
+     */
+    public ParallelDataGenerator(DataGenerator<T> generator,
+            int parallelThreshold) {
+        this.generator = Objects.requireNonNull(generator,
+                "Generator cannot be null");
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    @Override
+    public void generateData(T item, JsonObject jsonObject) {
+        generator.generateData(item, jsonObject);
+    }
+
+    @Override
+    public void generateData(List<T> items, List<JsonObject> jsonObjects) {
+        if (items.size() < parallelThreshold) {
+            generator.generateData(items, jsonObjects);
+        } else {
+            IntStream.range(0, items.size()).parallel()
+                    .forEach(i -> generator.generateData(items.get(i),
+                            jsonObjects.get(i)));
+        }
+    }
+
+    @Override
+    public void destroyData(T item) {
+        generator.destroyData(item);
+    }
+
+    @Override
+    public void destroyAllData() {
+        generator.destroyAllData();
+    }
+
+    @Override
+    public void refreshData(T item) {
+        generator.refreshData(item);
+    }
+}
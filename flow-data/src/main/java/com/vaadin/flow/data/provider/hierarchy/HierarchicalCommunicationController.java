@@ -318,10 +318,9 @@ public class HierarchicalCommunicationController<T> implements Serializable {
     }
 
     private List<JsonValue> getJsonItems(Range range) {
-        return range.stream()
+        return generateJson(range.stream()
                 .mapToObj(index -> activeKeyOrder.get(index - activeStart))
-                .map(keyMapper::get).map(this::generateJson)
-                .collect(Collectors.toList());
+                .map(keyMapper::get).collect(Collectors.toList()));
     }
 
     public JsonValue generateJson(T item) {
@@ -331,6 +330,17 @@ public class HierarchicalCommunicationController<T> implements Serializable {
         return json;
     }
 
+    private List<JsonValue> generateJson(List<T> items) {
+        List<JsonObject> jsonObjects = new ArrayList<>(items.size());
+        for (T item : items) {
+            JsonObject json = Json.createObject();
+            json.put("key", keyMapper.key(item));
+            jsonObjects.add(json);
+        }
+        dataGenerator.generateData(items, jsonObjects);
+        return new ArrayList<>(jsonObjects);
+    }
+
     private static final void withMissing(Range expected, Range actual,
             Consumer<Range> action) {
         Range[] partition = expected.partitionWith(actual);
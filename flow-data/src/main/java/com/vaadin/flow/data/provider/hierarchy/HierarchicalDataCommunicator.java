@@ -22,6 +22,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.stream.Stream;
 
 import com.vaadin.flow.data.provider.CompositeDataGenerator;
@@ -155,6 +156,7 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
         }
 
         if (getHierarchyMapper() != null) {
+            getHierarchyMapper().resetFlattenedHierarchy();
             HierarchicalUpdate update = arrayUpdater
                     .startUpdate(getHierarchyMapper().getRootSize());
             update.enqueue("$connector.ensureHierarchy");
@@ -164,6 +166,9 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
 
     @Override
     protected void handleDataRefreshEvent(DataChangeEvent.DataRefreshEvent<T> event) {
+        if (mapper != null) {
+            mapper.resetFlattenedHierarchy();
+        }
         if (event.isRefreshChildren()) {
             T item = event.getItem();
             if (isExpanded(item)) {
@@ -328,6 +333,23 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
         doCollapse(Arrays.asList(item), syncClient);
     }
 
+    /**
+     * Prefetching is not supported for hierarchical data, since the hierarchy
+     * can only be traversed while holding the session lock.
+     *
+     * @throws UnsupportedOperationException
+     *             if {@code prefetchSize} is positive
+     */
+    @Override
+    public void setPrefetch(int prefetchSize,
+            SerializableSupplier<Executor> executor) {
+        if (prefetchSize > 0) {
+            throw new UnsupportedOperationException(
+                    "Prefetching is not supported for hierarchical data");
+        }
+        super.setPrefetch(prefetchSize, executor);
+    }
+
     /**
      * Collapses the given items and removes its sub-hierarchy. Calling this
      * method will have no effect if the row is already collapsed.
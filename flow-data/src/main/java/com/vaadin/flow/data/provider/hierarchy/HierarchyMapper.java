@@ -16,6 +16,7 @@
 package com.vaadin.flow.data.provider.hierarchy;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -65,6 +66,12 @@ public class HierarchyMapper<T, F> implements Serializable {
 
     private Set<Object> expandedItemIds = new HashSet<>();
 
+    // Flattened version of the currently expanded hierarchy together with an
+    // index from item id to position. Built lazily when first needed and kept
+    // up to date on expand and collapse, discarded on any other change.
+    private List<T> flattenedHierarchy;
+    private Map<Object, Integer> flattenedIndex;
+
     /**
      * Constructs a new HierarchyMapper.
      *
@@ -81,7 +88,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return the amount of available data
      */
     public int getTreeSize() {
-        return (int) getHierarchy(null).count();
+        return getFlattenedHierarchy().size();
     }
 
     /**
@@ -103,8 +110,9 @@ public class HierarchyMapper<T, F> implements Serializable {
      *
      */
     public Integer getParentIndex(T item) {
-        List<T> flatHierarchy = getHierarchy(null).collect(Collectors.toList());
-        return flatHierarchy.indexOf(getParentOfItem(item));
+        getFlattenedHierarchy();
+        T parent = getParentOfItem(item);
+        return parent == null ? -1 : getFlattenedIndex(parent);
     }
 
     /**
@@ -116,8 +124,8 @@ public class HierarchyMapper<T, F> implements Serializable {
      *
      */
     public Integer getIndex(T item) {
-        List<T> flatHierarchy = getHierarchy(null).collect(Collectors.toList());
-        return flatHierarchy.indexOf(item);
+        getFlattenedHierarchy();
+        return item == null ? -1 : getFlattenedIndex(item);
     }
 
     /**
@@ -158,6 +166,11 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public Range expand(T item, Integer position) {
         if (doExpand(item) && position != null) {
+            int index = getFlattenedIndex(item);
+            if (index >= 0) {
+                return Range.withLength(position + 1,
+                        getFlattenedDescendantCount(index));
+            }
             return Range.withLength(position + 1,
                     (int) getHierarchy(item, false).count());
         }
@@ -179,6 +192,15 @@ public class HierarchyMapper<T, F> implements Serializable {
         if (!isExpanded(item) && hasChildren(item)) {
             expandedItemIds.add(getDataProvider().getId(item));
             expanded = true;
+            int index = getFlattenedIndex(item);
+            if (index >= 0) {
+                List<T> descendants = getHierarchy(item, false)
+                        .collect(Collectors.toList());
+                // Fetching children may have reset the flattened hierarchy
+                if (flattenedHierarchy != null) {
+                    insertFlattened(index + 1, descendants);
+                }
+            }
         }
         return expanded;
     }
@@ -194,6 +216,7 @@ public class HierarchyMapper<T, F> implements Serializable {
             return false;
         }
         if (isExpanded(item)) {
+            removeFlattenedDescendants(item);
             expandedItemIds.remove(getDataProvider().getId(item));
             return true;
         }
@@ -213,9 +236,10 @@ public class HierarchyMapper<T, F> implements Serializable {
     public Range collapse(T item, Integer position) {
         Range removedRows = Range.withLength(0, 0);
         if (isExpanded(item)) {
+            int removed = removeFlattenedDescendants(item);
             if (position != null) {
-                removedRows = Range.withLength(position + 1,
-                        (int) getHierarchy(item, false).count());
+                removedRows = Range.withLength(position + 1, removed >= 0
+                        ? removed : (int) getHierarchy(item, false).count());
             }
             expandedItemIds.remove(getDataProvider().getId(item));
         }
@@ -241,6 +265,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public void setInMemorySorting(Comparator<T> inMemorySorting) {
         this.inMemorySorting = inMemorySorting;
+        resetFlattenedHierarchy();
     }
 
     /**
@@ -261,6 +286,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public void setBackEndSorting(List<QuerySortOrder> backEndSorting) {
         this.backEndSorting = backEndSorting;
+        resetFlattenedHierarchy();
     }
 
     /**
@@ -281,6 +307,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public void setFilter(Object filter) {
         this.filter = (F) filter;
+        resetFlattenedHierarchy();
     }
 
     /**
@@ -315,7 +342,10 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return the stream of items
      */
     public Stream<T> fetchHierarchyItems(Range range) {
-        return getHierarchy(null).skip(range.getStart()).limit(range.length());
+        List<T> hierarchy = getFlattenedHierarchy();
+        int start = Math.min(range.getStart(), hierarchy.size());
+        int end = Math.min(range.getEnd(), hierarchy.size());
+        return new ArrayList<>(hierarchy.subList(start, end)).stream();
     }
 
     /**
@@ -440,6 +470,7 @@ public class HierarchyMapper<T, F> implements Serializable {
             }
         }
         expandedItemIds.remove(id);
+        resetFlattenedHierarchy();
         invalidatedChildren.stream().map(getDataProvider()::getId)
                 .forEach(x -> {
                     removeChildren(x);
@@ -460,12 +491,112 @@ public class HierarchyMapper<T, F> implements Serializable {
             return Optional.empty();
         }
 
-        final List<Object> collect = getHierarchy(null).map(provider::getId)
-                .collect(Collectors.toList());
-        int index = collect.indexOf(getDataProvider().getId(target));
+        getFlattenedHierarchy();
+        int index = getFlattenedIndex(target);
         return Optional.ofNullable(index < 0 ? null : index);
     }
 
+    /**
+     * Discards the flattened hierarchy used for index and size lookups so that
+     * it is fetched again from the data provider when next needed. Should be
+     * called whenever the underlying data has changed.
+     */
+    public void resetFlattenedHierarchy() {
+        flattenedHierarchy = null;
+        flattenedIndex = null;
+    }
+
+    /**
+     * Gets the flattened version of the currently expanded hierarchy, building
+     * it from the data provider if it is not available.
+     *
+     * @return the flattened hierarchy, not {@code null}
+     */
+    private List<T> getFlattenedHierarchy() {
+        if (flattenedHierarchy == null) {
+            // Collect before assigning, fetching may reset the hierarchy
+            List<T> hierarchy = getHierarchy(null)
+                    .collect(Collectors.toCollection(ArrayList::new));
+            Map<Object, Integer> index = new HashMap<>();
+            for (int i = 0; i < hierarchy.size(); i++) {
+                index.put(getDataProvider().getId(hierarchy.get(i)), i);
+            }
+            flattenedHierarchy = hierarchy;
+            flattenedIndex = index;
+        }
+        return flattenedHierarchy;
+    }
+
+    /**
+     * Gets the position of the given item in the flattened hierarchy without
+     * building it.
+     *
+     * @param item
+     *            the item to find
+     * @return the position of the item, or {@code -1} if the item is not
+     *         visible or the flattened hierarchy is not available
+     */
+    private int getFlattenedIndex(T item) {
+        if (flattenedIndex == null || item == null) {
+            return -1;
+        }
+        Integer index = flattenedIndex.get(getDataProvider().getId(item));
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Counts the descendants directly following the item at the given
+     * position of the flattened hierarchy.
+     *
+     * @param index
+     *            the position of the item
+     * @return the number of visible descendants of the item
+     */
+    private int getFlattenedDescendantCount(int index) {
+        int depth = getDepth(flattenedHierarchy.get(index));
+        int end = index + 1;
+        while (end < flattenedHierarchy.size()
+                && getDepth(flattenedHierarchy.get(end)) > depth) {
+            end++;
+        }
+        return end - index - 1;
+    }
+
+    private void insertFlattened(int position, List<T> items) {
+        flattenedHierarchy.addAll(position, items);
+        reindexFlattened(position);
+    }
+
+    /**
+     * Removes the visible descendants of the given item from the flattened
+     * hierarchy.
+     *
+     * @param item
+     *            the item being collapsed
+     * @return the number of removed items, or {@code -1} if the flattened
+     *         hierarchy did not contain the item
+     */
+    private int removeFlattenedDescendants(T item) {
+        int index = getFlattenedIndex(item);
+        if (index < 0) {
+            return -1;
+        }
+        int count = getFlattenedDescendantCount(index);
+        List<T> removed = flattenedHierarchy.subList(index + 1,
+                index + 1 + count);
+        removed.forEach(x -> flattenedIndex.remove(getDataProvider().getId(x)));
+        removed.clear();
+        reindexFlattened(index + 1);
+        return count;
+    }
+
+    private void reindexFlattened(int from) {
+        for (int i = from; i < flattenedHierarchy.size(); i++) {
+            flattenedIndex.put(
+                    getDataProvider().getId(flattenedHierarchy.get(i)), i);
+        }
+    }
+
     /**
      * Gets the full hierarchy tree starting from given node.
      *
@@ -617,6 +748,7 @@ public class HierarchyMapper<T, F> implements Serializable {
         childMap.clear();
         parentIdMap.clear();
         expandedItemIds.clear();
+        resetFlattenedHierarchy();
     }
 
     /**
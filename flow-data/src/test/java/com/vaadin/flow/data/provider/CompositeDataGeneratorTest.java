@@ -16,6 +16,7 @@
 package com.vaadin.flow.data.provider;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.hamcrest.CoreMatchers;
@@ -104,6 +105,42 @@ public class CompositeDataGeneratorTest {
         Assert.assertThat(mock3.getProcessed(), CoreMatchers.hasItem("item1"));
     }
 
+    @Test
+    public void generateDataForBatch_innerBatchGeneratorsAreInvoked() {
+        CompositeDataGenerator<String> composite = new CompositeDataGenerator<>();
+
+        MockDataGenerator mock1 = new MockDataGenerator("mock1", "value1");
+        List<List<String>> batches = new ArrayList<>();
+        DataGenerator<String> batchGenerator = new DataGenerator<String>() {
+            @Override
+            public void generateData(String item, JsonObject jsonObject) {
+                Assert.fail("Batch generator should get the whole batch");
+            }
+
+            @Override
+            public void generateData(List<String> items,
+                    List<JsonObject> jsonObjects) {
+                batches.add(items);
+                for (int i = 0; i < items.size(); i++) {
+                    jsonObjects.get(i).put("batch", items.get(i));
+                }
+            }
+        };
+
+        composite.addDataGenerator(mock1);
+        composite.addDataGenerator(batchGenerator);
+
+        List<JsonObject> jsonObjects = Arrays.asList(Json.createObject(),
+                Json.createObject());
+        composite.generateData(Arrays.asList("item1", "item2"), jsonObjects);
+
+        Assert.assertEquals(1, batches.size());
+        Assert.assertEquals("item2", jsonObjects.get(1).getString("batch"));
+        Assert.assertEquals("value1", jsonObjects.get(1).getString("mock1"));
+        Assert.assertEquals(Arrays.asList("item1", "item2"),
+                mock1.getProcessed());
+    }
+
     @Test
     public void refreshData_innerGeneratorsAreInvoked() {
         CompositeDataGenerator<String> composite = new CompositeDataGenerator<>();
@@ -16,6 +16,7 @@
 package com.vaadin.flow.data.provider;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -342,6 +343,45 @@ public class DataCommunicatorTest {
         Mockito.verify(dataProvider, Mockito.times(1)).fetch(Mockito.any());
     }
 
+    @Test
+    public void prefetchEnabled_nextRangeServedFromPrefetchedItems() {
+        List<Integer> fetchOffsets = new ArrayList<>();
+        dataCommunicator.setDataProvider(
+                createBackEndDataProvider(fetchOffsets), null);
+        dataCommunicator.setPrefetch(20, () -> Runnable::run);
+
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+        Assert.assertEquals(Arrays.asList(0, 50), fetchOffsets);
+
+        dataCommunicator.setRequestedRange(0, 70);
+        fakeClientCommunication();
+
+        Assert.assertEquals(Range.withLength(50, 20), lastSet);
+        Assert.assertEquals("Prefetched items should be used for 50-70",
+                Arrays.asList(0, 50, 70), fetchOffsets);
+        Assert.assertTrue(dataCommunicator.getKeyMapper().has(new Item(69)));
+    }
+
+    @Test
+    public void prefetchEnabled_dataReset_prefetchedItemsDiscarded() {
+        List<Integer> fetchOffsets = new ArrayList<>();
+        AbstractDataProvider<Item, Object> dataProvider = createBackEndDataProvider(
+                fetchOffsets);
+        dataCommunicator.setDataProvider(dataProvider, null);
+        dataCommunicator.setPrefetch(20, () -> Runnable::run);
+
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+        dataProvider.refreshAll();
+        fetchOffsets.clear();
+
+        dataCommunicator.setRequestedRange(0, 70);
+        fakeClientCommunication();
+
+        Assert.assertEquals(Arrays.asList(0, 70), fetchOffsets);
+    }
+
     private void fakeClientCommunication() {
         ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
         ui.getInternals().getStateTree().collectChanges(ignore -> {
@@ -379,6 +419,30 @@ public class DataCommunicatorTest {
         };
     }
 
+    private AbstractDataProvider<Item, Object> createBackEndDataProvider(
+            List<Integer> fetchOffsets) {
+        return new AbstractDataProvider<Item, Object>() {
+            @Override
+            public boolean isInMemory() {
+                return false;
+            }
+
+            @Override
+            public int size(Query<Item, Object> query) {
+                return 100;
+            }
+
+            @Override
+            public Stream<Item> fetch(Query<Item, Object> query) {
+                fetchOffsets.add(query.getOffset());
+                return IntStream
+                        .range(query.getOffset(),
+                                query.getLimit() + query.getOffset())
+                        .mapToObj(Item::new);
+            }
+        };
+    }
+
     private AbstractDataProvider<Item, Object> createDataProvider() {
         return new AbstractDataProvider<Item, Object>() {
             @Override
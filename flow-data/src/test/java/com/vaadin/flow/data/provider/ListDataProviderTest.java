@@ -18,6 +18,7 @@ package com.vaadin.flow.data.provider;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.SerializationUtils;
@@ -25,6 +26,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import com.vaadin.flow.function.SerializableComparator;
+import com.vaadin.flow.function.SerializablePredicate;
 
 public class ListDataProviderTest
         extends DataProviderTestBase<ListDataProvider<StrBean>> {
@@ -232,6 +234,88 @@ public class ListDataProviderTest
         assertSizeWithFilter(0, filteringBy, "oo");
     }
 
+    @Test
+    public void fetchPages_sortedItemsCached_filteredAndSortedOnce() {
+        dataProvider.setSortedItemsCached(true);
+        AtomicInteger filterCalls = new AtomicInteger();
+        AtomicInteger compareCalls = new AtomicInteger();
+        SerializablePredicate<StrBean> filter = item -> {
+            filterCalls.incrementAndGet();
+            return item.getId() % 2 == 0;
+        };
+        SerializableComparator<StrBean> sorting = (o1, o2) -> {
+            compareCalls.incrementAndGet();
+            return Integer.compare(o2.getId(), o1.getId());
+        };
+
+        List<StrBean> firstPage = dataProvider
+                .fetch(new Query<>(0, 10, null, sorting, filter))
+                .collect(Collectors.toList());
+        int filtered = filterCalls.get();
+        int compared = compareCalls.get();
+
+        List<StrBean> secondPage = dataProvider
+                .fetch(new Query<>(10, 10, null, sorting, filter))
+                .collect(Collectors.toList());
+        Assert.assertEquals(51, dataProvider.size(new Query<>(filter)));
+
+        Assert.assertEquals(98, firstPage.get(0).getId());
+        Assert.assertEquals(78, secondPage.get(0).getId());
+        Assert.assertEquals(10, secondPage.size());
+        Assert.assertEquals(filtered, filterCalls.get());
+        Assert.assertEquals(compared, compareCalls.get());
+    }
+
+    @Test
+    public void fetch_sortedItemsCached_differentQueryFilter_notReused() {
+        dataProvider.setSortedItemsCached(true);
+        dataProvider.setSortComparator(
+                (o1, o2) -> Integer.compare(o1.getId(), o2.getId()));
+
+        Assert.assertEquals(100, dataProvider.fetch(new Query<>()).count());
+        Assert.assertEquals(36,
+                dataProvider.fetch(new Query<>(fooFilter)).count());
+        Assert.assertEquals(36, dataProvider.size(new Query<>(fooFilter)));
+        Assert.assertEquals(100, dataProvider.size(new Query<>()));
+    }
+
+    @Test
+    public void fetch_itemChanged_changesVisibleWithoutRefresh() {
+        dataProvider.setSortComparator(
+                (o1, o2) -> Integer.compare(o1.getId(), o2.getId()));
+        Assert.assertEquals(36,
+                dataProvider.fetch(new Query<>(fooFilter)).count());
+
+        StrBean bean = data.stream().filter(fooFilter).findFirst().get();
+        bean.setValue("Bar");
+
+        Assert.assertEquals(35,
+                dataProvider.fetch(new Query<>(fooFilter)).count());
+        Assert.assertEquals(35, dataProvider.size(new Query<>(fooFilter)));
+    }
+
+    @Test
+    public void fetch_sortedItemsCached_itemChangedAndRefreshed_changesVisible() {
+        dataProvider.setSortedItemsCached(true);
+        dataProvider.setSortComparator(
+                (o1, o2) -> Integer.compare(o1.getId(), o2.getId()));
+        Assert.assertEquals(36,
+                dataProvider.fetch(new Query<>(fooFilter)).count());
+
+        StrBean bean = data.stream().filter(fooFilter).findFirst().get();
+        bean.setValue("Bar");
+        Assert.assertEquals("Cached items should be used until refreshed", 36,
+                dataProvider.fetch(new Query<>(fooFilter)).count());
+
+        dataProvider.refreshItem(bean);
+        Assert.assertEquals(35,
+                dataProvider.fetch(new Query<>(fooFilter)).count());
+
+        data.add(new StrBean("Foo", 100, 0));
+        Assert.assertEquals("Changed backend size should not use cached items",
+                36, dataProvider.size(new Query<>(fooFilter)));
+    }
+
     @Override
     protected void setSortOrder(List<QuerySortOrder> sortOrder,
             Comparator<StrBean> comp) {
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
+
+public class ParallelDataGeneratorTest {
+
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+    private final DataGenerator<Integer> generator = (item, json) -> {
+        threads.add(Thread.currentThread());
+        json.put("double", item * 2);
+    };
+
+    @Test
+    public void generateData_largeBatch_allItemsGenerated() {
+        List<Integer> items = new ArrayList<>();
+        List<JsonObject> jsonObjects = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            items.add(i);
+            jsonObjects.add(Json.createObject());
+        }
+
+        new ParallelDataGenerator<>(generator, 100).generateData(items,
+                jsonObjects);
+
+        for (int i = 0; i < items.size(); i++) {
+            Assert.assertEquals(i * 2,
+                    (int) jsonObjects.get(i).getNumber("double"));
+        }
+    }
+
+    @Test
+    public void generateData_smallBatch_generatedOnCallingThread() {
+        List<Integer> items = new ArrayList<>();
+        List<JsonObject> jsonObjects = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            items.add(i);
+            jsonObjects.add(Json.createObject());
+        }
+
+        new ParallelDataGenerator<>(generator, 100).generateData(items,
+                jsonObjects);
+
+        Assert.assertEquals(1, threads.size());
+        Assert.assertTrue(threads.contains(Thread.currentThread()));
+        Assert.assertEquals(18, (int) jsonObjects.get(9).getNumber("double"));
+    }
+}
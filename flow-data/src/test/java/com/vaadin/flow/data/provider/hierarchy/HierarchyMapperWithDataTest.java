@@ -19,11 +19,13 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.Mockito;
 
 import com.vaadin.flow.data.provider.hierarchy.HierarchyMapper;
 import com.vaadin.flow.data.provider.hierarchy.TreeData;
@@ -225,6 +227,66 @@ public class HierarchyMapperWithDataTest {
         verifyFetchIsCorrect(expectedResult, range);
     }
 
+    @Test
+    public void indexLookups_hierarchyFetchedOnce() {
+        provider = Mockito.spy(new TreeDataProvider<>(data));
+        mapper = new HierarchyMapper<>(provider);
+
+        expand(testData.get(0));
+        expand(testData.get(1));
+        Mockito.reset(provider);
+
+        Node leaf = testData.get(2);
+        assertEquals(Integer.valueOf(2), mapper.getIndex(leaf));
+        assertEquals(Integer.valueOf(1), mapper.getParentIndex(leaf));
+        assertEquals(Optional.of(2), mapper.getIndexOf(leaf));
+        assertEquals(ROOT_COUNT + PARENT_COUNT + LEAF_COUNT,
+                mapper.getTreeSize());
+        assertEquals(testData.subList(1, 4),
+                mapper.fetchHierarchyItems(Range.between(1, 4))
+                        .collect(Collectors.toList()));
+
+        Mockito.verify(provider, Mockito.never())
+                .fetchChildren(Mockito.any());
+    }
+
+    @Test
+    public void expandAndCollapse_indexesUpdated() {
+        // Build the flattened hierarchy before changing it
+        assertEquals(Integer.valueOf(1), mapper.getIndex(roots.get(1)));
+
+        expand(roots.get(0));
+        assertEquals(Integer.valueOf(1), mapper.getIndex(testData.get(1)));
+        assertEquals(Integer.valueOf(1 + PARENT_COUNT),
+                mapper.getIndex(roots.get(1)));
+
+        expand(testData.get(1));
+        assertEquals(Integer.valueOf(1 + PARENT_COUNT + LEAF_COUNT),
+                mapper.getIndex(roots.get(1)));
+        assertEquals(Integer.valueOf(1),
+                mapper.getParentIndex(testData.get(2)));
+
+        collapse(roots.get(0));
+        assertEquals(Integer.valueOf(1), mapper.getIndex(roots.get(1)));
+        assertEquals(Integer.valueOf(-1), mapper.getIndex(testData.get(2)));
+        assertEquals(ROOT_COUNT, mapper.getTreeSize());
+        checkMapSize();
+    }
+
+    @Test
+    public void dataChanged_resetFlattenedHierarchy_changesVisible() {
+        assertEquals(ROOT_COUNT, mapper.getTreeSize());
+
+        Node root = new Node(-1);
+        data.addItem(null, root);
+        assertEquals("Flattened hierarchy should be reused", ROOT_COUNT,
+                mapper.getTreeSize());
+
+        mapper.resetFlattenedHierarchy();
+        assertEquals(ROOT_COUNT + 1, mapper.getTreeSize());
+        assertEquals(Integer.valueOf(ROOT_COUNT), mapper.getIndex(root));
+    }
+
     private void expand(Node node) {
         insertRows(mapper.expand(node, mapper.getIndexOf(node).orElse(null)));
     }
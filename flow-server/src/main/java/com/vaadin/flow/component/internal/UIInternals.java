@@ -152,6 +152,8 @@ public class UIInternals implements Serializable {
 
     private int serverSyncId = 0;
 
+    private boolean resynchronizationRequested = false;
+
     private final StateTree stateTree;
 
     private PushConnection pushConnection = null;
@@ -273,6 +275,34 @@ public class UIInternals implements Serializable {
         this.lastProcessedMessageHash = lastProcessedMessageHash;
     }
 
+    /**
+     * Requests a full resynchronization of the client side. The next response
+     * will contain the complete state tree and instruct the client to rebuild
+     * its state tree instead of applying the changes incrementally.
+     * <p>
+     * Used internally for communication tracking.
+     */
+    public void requestResynchronization() {
+        stateTree.prepareForResync();
+        resynchronizationRequested = true;
+    }
+
+    /**
+     * Checks whether a resynchronization of the client side has been requested
+     * and clears the request.
+     * <p>
+     * Used internally for communication tracking.
+     *
+     * @return <code>true</code> if the next response should resynchronize the
+     *         client side, <code>false</code> otherwise
+     * @see #requestResynchronization()
+     */
+    public boolean dumpResynchronizationRequest() {
+        boolean requested = resynchronizationRequested;
+        resynchronizationRequested = false;
+        return requested;
+    }
+
     /**
      * Gets the server sync id.
      * <p>
@@ -18,10 +18,8 @@ package com.vaadin.flow.component.polymertemplate;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import org.jsoup.UncheckedIOException;
@@ -30,18 +28,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.dependency.JsModule;
-import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.AnnotationReader;
 import com.vaadin.flow.internal.Pair;
 import com.vaadin.flow.server.DependencyFilter;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.WebBrowser;
 import com.vaadin.flow.server.frontend.FrontendUtils;
+import com.vaadin.flow.server.frontend.StatsIndex;
 import com.vaadin.flow.server.startup.FakeBrowser;
 import com.vaadin.flow.shared.ui.Dependency;
 
-import elemental.json.JsonObject;
-
 /**
  * Npm template parser implementation.
  * <p>
@@ -61,10 +57,6 @@ public class NpmTemplateParser implements TemplateParser {
 
     private static final TemplateParser INSTANCE = new NpmTemplateParser();
 
-    private final HashMap<String, String> cache = new HashMap<>();
-    private final ReentrantLock lock = new ReentrantLock();
-    private JsonObject jsonStats;
-
     private NpmTemplateParser() {
         // Doesn't allow external instantiation
     }
@@ -168,63 +160,7 @@ public class NpmTemplateParser implements TemplateParser {
 
     private String getSourcesFromStats(VaadinService service, String url)
             throws IOException {
-        try {
-            lock.lock();
-            if (isStatsFileReadNeeded(service)) {
-                String content = FrontendUtils.getStatsContent(service);
-                if (content != null) {
-                    resetCache(content);
-                }
-            }
-        } finally {
-            lock.unlock();
-        }
-        if (!cache.containsKey(url) && jsonStats != null) {
-            cache.put(url,
-                    BundleParser.getSourceFromStatistics(url, jsonStats));
-        }
-        return cache.get(url);
-    }
-
-    /**
-     * Check status to see if stats.json needs to be loaded and parsed.
-     * <p>
-     * Always load if jsonStats is null, never load again when we have a bundle
-     * as it never changes, always load a new stats if the hash has changed and
-     * we do not have a bundle.
-     *
-     * @param service
-     *            the Vaadin service.
-     * @return {@code true} if we need to re-load and parse stats.json, else
-     *         {@code false}
-     */
-    protected boolean isStatsFileReadNeeded(VaadinService service)
-            throws IOException {
-        DeploymentConfiguration config = service.getDeploymentConfiguration();
-        if (jsonStats == null) {
-            return true;
-        } else if (usesBundleFile(config)) {
-            return false;
-        }
-        return !jsonStats.get("hash").asString()
-                .equals(FrontendUtils.getStatsHash(service));
-    }
-
-    /**
-     * Check if we are running in a mode without dev server and using a pre-made
-     * bundle file.
-     *
-     * @param config
-     *            deployment configuration
-     * @return true if production mode or disabled dev server
-     */
-    private boolean usesBundleFile(DeploymentConfiguration config) {
-        return config.isProductionMode() && !config.enableDevServer();
-    }
-
-    private void resetCache(String fileContents) {
-        cache.clear();
-        jsonStats = BundleParser.parseJsonStatistics(fileContents);
+        return StatsIndex.getInstance(service).getModuleSource(service, url);
     }
 
     private Logger getLogger() {
@@ -358,6 +358,113 @@ public interface DeploymentConfiguration extends Serializable {
         return getBooleanProperty(Constants.SERVLET_PARAMETER_BROTLI, false);
     }
 
+    /**
+     * Gets the number of state changes in a response from which on the changes
+     * are serialized to JSON in parallel using the common fork-join pool. This
+     * reduces the time needed for responses which attach large views on hosts
+     * with many cores, but adds overhead on hosts with few cores.
+     *
+     * @return the number of changes from which on they are serialized in
+     *         parallel, or <code>0</code> if parallel serialization is
+     *         disabled
+     */
+    default int getParallelChangeEncodingThreshold() {
+        return getApplicationOrSystemProperty(
+                Constants.SERVLET_PARAMETER_PARALLEL_CHANGE_ENCODING_THRESHOLD,
+                0, Integer::parseInt);
+    }
+
+    /**
+     * Gets the time in milliseconds during which asynchronous pushes to the
+     * same UI are collected into a single push message. The first push starts
+     * the window and any changes made until the window closes are sent
+     * together, which reduces the number of messages for UIs that are updated
+     * frequently from background threads.
+     *
+     * @return the push coalescing window in milliseconds, or <code>0</code> if
+     *         every push is sent immediately
+     */
+    default int getPushCoalescingWindow() {
+        return getApplicationOrSystemProperty(
+                Constants.SERVLET_PARAMETER_PUSH_COALESCING_WINDOW, 0,
+                Integer::parseInt);
+    }
+
+    /**
+     * Gets the maximum total size of the static resources that are kept in
+     * memory by the static file server. Cached resources are served without
+     * looking them up from the servlet context or the class path again and
+     * they can be revalidated by browsers using entity tags. The cache is
+     * only used in production mode.
+     *
+     * @return the maximum size of the static resource cache in bytes, or
+     *         <code>0</code> if static resources are not cached
+     */
+    default long getStaticResourceCacheSize() {
+        return getApplicationOrSystemProperty(
+                Constants.SERVLET_PARAMETER_STATIC_RESOURCE_CACHE_SIZE, 0L,
+                Long::parseLong);
+    }
+
+    /**
+     * Gets whether cached static resources that have no pre-compressed
+     * <code>.gz</code> variant are compressed by the static file server. The
+     * resources are compressed once in the background and the compressed
+     * variant is kept in the static resource cache, so compression has no
+     * effect unless {@link #getStaticResourceCacheSize()} is set.
+     *
+     * @return <code>true</code> if static resources are compressed on the
+     *         fly, <code>false</code> otherwise
+     */
+    default boolean isStaticResourceCompressionEnabled() {
+        return getBooleanProperty(
+                Constants.SERVLET_PARAMETER_COMPRESS_STATIC_RESOURCES, false);
+    }
+
+    /**
+     * Gets the minimum size of static resources that are compressed on the
+     * fly. Compressing smaller resources rarely pays off.
+     *
+     * @return the minimum size of compressed resources in bytes
+     */
+    default int getStaticResourceCompressionMinSize() {
+        return getApplicationOrSystemProperty(
+                Constants.SERVLET_PARAMETER_COMPRESSION_MIN_SIZE,
+                Constants.COMPRESSION_MIN_SIZE_DEFAULT, Integer::parseInt);
+    }
+
+    /**
+     * Gets the MIME types of static resources that are compressed on the
+     * fly.
+     *
+     * The default value contains the common text based types, but it can be
+     * changed by setting the
+     * {@link Constants#SERVLET_PARAMETER_COMPRESSION_MIME_TYPES} as a comma
+     * separated list of MIME types.
+     *
+     * @return MIME types of compressed resources
+     */
+    default List<String> getStaticResourceCompressionMimeTypes() {
+        return Arrays.asList(getStringProperty(
+                Constants.SERVLET_PARAMETER_COMPRESSION_MIME_TYPES,
+                Constants.COMPRESSION_MIME_TYPES_DEFAULT).split("[, ]+"));
+    }
+
+    /**
+     * Gets the interval in seconds at which closed and inactive UIs and
+     * inactive sessions are cleaned up by a background task. When the interval
+     * is set, requests no longer lock the session a second time after the
+     * response has been written to do the clean up.
+     *
+     * @return the session clean up interval in seconds, or <code>0</code> if
+     *         sessions are cleaned up at the end of each request
+     */
+    default int getSessionCleanupInterval() {
+        return getApplicationOrSystemProperty(
+                Constants.SERVLET_PARAMETER_SESSION_CLEANUP_INTERVAL, 0,
+                Integer::parseInt);
+    }
+
     default String getCompiledWebComponentsPath() {
         return getStringProperty(Constants.COMPILED_WEB_COMPONENTS_PATH,
                 "vaadin-web-components");
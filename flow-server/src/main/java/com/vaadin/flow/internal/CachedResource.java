@@ -0,0 +1,146 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * The contents of a static resource held in memory, along with the
+ * pre-compressed variants of it that are available.
+ * <p>
+ * Each variant has its own strong entity tag derived from the uncompressed
+ * contents so that browsers can revalidate their copy using
+ * <code>If-None-Match</code>.
+ *
+ * @author Vaadin Ltd
+ * @since 2.1
+ */
+public class CachedResource implements Serializable {
+
+    /**
+     * The number of bytes of the content hash used in entity tags.
+     */
+    private static final int ETAG_HASH_LENGTH = 16;
+
+    private final byte[] contents;
+    private final byte[] gzipContents;
+    private final byte[] brotliContents;
+    private final long lastModified;
+    private final String eTagValue;
+
+    /**
+     * Creates a new cached resource.
+     *
+     * @param contents
+     *            the uncompressed contents, not <code>null</code>
+     * @param gzipContents
+     *            the gzip compressed contents, or <code>null</code> if not
+     *            available
+     * @param brotliContents
+     *            the Brotli compressed contents, or <code>null</code> if not
+     *            available
+     * @param lastModified
+     *            the last modification timestamp of the resource in
+     *            milliseconds, or a negative number if not known
+     */
+    public CachedResource(byte[] contents, byte[] gzipContents,
+            byte[] brotliContents, long lastModified) {
+        assert contents != null;
+
+        this.contents = contents;
+        this.gzipContents = gzipContents;
+        this.brotliContents = brotliContents;
+        this.lastModified = lastModified;
+
+        byte[] hash = MessageDigestUtil.sha256(contents);
+        eTagValue = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Arrays.copyOf(hash, ETAG_HASH_LENGTH));
+    }
+
+    /**
+     * Gets the uncompressed contents of the resource.
+     *
+     * @return the uncompressed contents, not <code>null</code>
+     */
+    public byte[] getContents() {
+        return contents;
+    }
+
+    /**
+     * Gets the gzip compressed contents of the resource.
+     *
+     * @return the gzip compressed contents, or <code>null</code> if not
+     *         available
+     */
+    public byte[] getGzipContents() {
+        return gzipContents;
+    }
+
+    /**
+     * Gets the Brotli compressed contents of the resource.
+     *
+     * @return the Brotli compressed contents, or <code>null</code> if not
+     *         available
+     */
+    public byte[] getBrotliContents() {
+        return brotliContents;
+    }
+
+    /**
+     * Gets the last modification timestamp of the resource.
+     *
+     * @return the last modification timestamp in milliseconds, or a negative
+     *         number if not known
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Gets the strong entity tag for the variant of the resource with the
+     * given content encoding, including the surrounding quotes.
+     *
+     * @param contentEncoding
+     *            the content encoding of the variant, e.g. <code>gzip</code>,
+     *            or <code>null</code> for the uncompressed contents
+     * @return the entity tag of the variant, not <code>null</code>
+     */
+    public String getETag(String contentEncoding) {
+        if (contentEncoding == null) {
+            return '"' + eTagValue + '"';
+        }
+        return '"' + eTagValue + '-' + contentEncoding + '"';
+    }
+
+    /**
+     * Gets the total number of bytes held by this resource, including all
+     * variants.
+     *
+     * @return the size of this resource in bytes
+     */
+    public long getSize() {
+        long size = contents.length;
+        if (gzipContents != null) {
+            size += gzipContents.length;
+        }
+        if (brotliContents != null) {
+            size += brotliContents.length;
+        }
+        return size;
+    }
+}
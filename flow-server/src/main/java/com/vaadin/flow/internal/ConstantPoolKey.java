@@ -20,6 +20,7 @@ import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 import elemental.json.JsonValue;
 
@@ -36,6 +37,9 @@ import elemental.json.JsonValue;
  * @since 1.0
  */
 public class ConstantPoolKey implements Serializable {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
     private final JsonValue json;
     private final String id;
 
@@ -79,25 +83,99 @@ public class ConstantPoolKey implements Serializable {
     }
 
     /**
-     * Calculates the key of a JSON value by Base 64 encoding the first 64 bits
-     * of the SHA-256 digest of the JSON's string representation.
+     * Calculates the key of a JSON value by Base 64 encoding a 64 bit hash of
+     * the JSON structure.
+     * <p>
+     * The hash is calculated by walking the JSON value directly instead of
+     * digesting its string representation, since serializing and running a
+     * cryptographic digest for every event listener configuration is
+     * needlessly expensive. The values are created by the framework, not by
+     * the end user, so a well mixed 64 bit hash gives the same protection
+     * against accidental collisions as the truncated digest that was used
+     * before (1 in 100 000 000 collision risk with 500 000 items).
      *
      * @param json
      *            the JSON to get a hash of, not <code>null</code>
      * @return the key uniquely identifying the given JSON value
      */
     private static String calculateHash(JsonValue json) {
-        byte[] digest = MessageDigestUtil.sha256(json.toJson());
+        long hash = mix(hashJson(FNV_OFFSET_BASIS, json));
 
-        /*
-         * Only use first 64 bits to keep id string short (1 in 100 000 000
-         * collision risk with 500 000 items). 64 bits base64 -> 11 ASCII chars
-         */
-        ByteBuffer truncatedDigest = ByteBuffer.wrap(digest, 0, 8);
+        // 64 bits base64 -> 11 ASCII chars
+        ByteBuffer hashBytes = ByteBuffer.allocate(Long.BYTES).putLong(0,
+                hash);
 
-        ByteBuffer base64Bytes = Base64.getEncoder().encode(truncatedDigest);
+        ByteBuffer base64Bytes = Base64.getEncoder().encode(hashBytes);
 
         return StandardCharsets.US_ASCII.decode(base64Bytes).toString();
     }
 
+    /**
+     * Updates an FNV-1a hash with the given JSON value. Every value is
+     * prefixed with its type and strings and containers with their length so
+     * that different structures cannot produce the same sequence.
+     */
+    private static long hashJson(long hash, JsonValue json) {
+        switch (json.getType()) {
+        case OBJECT:
+            JsonObject object = (JsonObject) json;
+            String[] keys = object.keys();
+            hash = hashLong(hashChar(hash, 'o'), keys.length);
+            for (String key : keys) {
+                hash = hashJson(hashString(hash, key), object.get(key));
+            }
+            return hash;
+        case ARRAY:
+            JsonArray array = (JsonArray) json;
+            int length = array.length();
+            hash = hashLong(hashChar(hash, 'a'), length);
+            for (int i = 0; i < length; i++) {
+                hash = hashJson(hash, array.get(i));
+            }
+            return hash;
+        case STRING:
+            return hashString(hashChar(hash, 's'), json.asString());
+        case NUMBER:
+            return hashLong(hashChar(hash, 'n'),
+                    Double.doubleToLongBits(json.asNumber()));
+        case BOOLEAN:
+            return hashChar(hash, json.asBoolean() ? 't' : 'f');
+        default:
+            return hashChar(hash, 'z');
+        }
+    }
+
+    private static long hashString(long hash, String string) {
+        int length = string.length();
+        hash = hashLong(hash, length);
+        for (int i = 0; i < length; i++) {
+            hash = hashChar(hash, string.charAt(i));
+        }
+        return hash;
+    }
+
+    private static long hashLong(long hash, long value) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash = hashChar(hash, (char) (value & 0xff));
+            value >>>= 8;
+        }
+        return hash;
+    }
+
+    private static long hashChar(long hash, char value) {
+        return (hash ^ value) * FNV_PRIME;
+    }
+
+    /**
+     * Spreads the bits of the hash evenly (the finalizer of MurmurHash3).
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
 }
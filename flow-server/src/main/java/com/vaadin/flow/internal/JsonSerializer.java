@@ -16,20 +16,26 @@
 package com.vaadin.flow.internal;
 
 import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import com.vaadin.flow.component.JsonSerializable;
 
@@ -48,9 +54,88 @@ import elemental.json.JsonValue;
  */
 public final class JsonSerializer {
 
+    private static final ReflectionCache<Object, List<BeanProperty>> readers = new ReflectionCache<>(
+            type -> findProperties(type, PropertyDescriptor::getReadMethod));
+
+    private static final ReflectionCache<Object, Map<String, BeanProperty>> writers = new ReflectionCache<>(
+            type -> findProperties(type, PropertyDescriptor::getWriteMethod)
+                    .stream().collect(Collectors.toMap(
+                            property -> property.name, property -> property)));
+
+    /**
+     * A bean property with a method handle for its read or write method.
+     * Method handles are resolved once per bean type, which makes converting
+     * large amounts of beans considerably cheaper than introspecting and
+     * reflectively invoking the methods for each bean.
+     */
+    private static final class BeanProperty {
+        private final String name;
+        private final MethodHandle handle;
+        private final Class<?> type;
+        private final Type genericType;
+
+        private BeanProperty(String name, Method method) {
+            this.name = name;
+            try {
+                MethodHandle methodHandle = MethodHandles.publicLookup()
+                        .unreflect(method);
+                if (method.getParameterCount() == 0) {
+                    handle = methodHandle.asType(MethodType
+                            .methodType(Object.class, Object.class));
+                    type = method.getReturnType();
+                    genericType = method.getGenericReturnType();
+                } else {
+                    handle = methodHandle.asType(MethodType.methodType(
+                            void.class, Object.class, Object.class));
+                    type = method.getParameterTypes()[0];
+                    genericType = method.getGenericParameterTypes()[0];
+                }
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException(
+                        "Cannot access the method " + method, e);
+            }
+        }
+
+        private Object read(Object bean) throws InvocationTargetException {
+            try {
+                return (Object) handle.invokeExact(bean);
+            } catch (Throwable e) { // NOSONAR
+                throw new InvocationTargetException(e);
+            }
+        }
+
+        private void write(Object bean, Object value)
+                throws InvocationTargetException {
+            try {
+                handle.invokeExact(bean, value);
+            } catch (Throwable e) { // NOSONAR
+                throw new InvocationTargetException(e);
+            }
+        }
+    }
+
     private JsonSerializer() {
     }
 
+    private static List<BeanProperty> findProperties(Class<?> type,
+            Function<PropertyDescriptor, Method> methodGetter) {
+        BeanInfo info;
+        try {
+            info = Introspector.getBeanInfo(type);
+        } catch (IntrospectionException e) {
+            throw new IllegalArgumentException(
+                    "Could not introspect the type " + type, e);
+        }
+        List<BeanProperty> properties = new ArrayList<>();
+        for (PropertyDescriptor pd : info.getPropertyDescriptors()) {
+            Method method = methodGetter.apply(pd);
+            if (method != null && !"class".equals(pd.getName())) {
+                properties.add(new BeanProperty(pd.getName(), method));
+            }
+        }
+        return properties;
+    }
+
     /**
      * Converts a Java bean, {@link JsonSerializable} instance, String, wrapper
      * of primitive type or enum to a {@link JsonValue}.
@@ -82,15 +167,8 @@ public final class JsonSerializer {
 
         try {
             JsonObject json = Json.createObject();
-            BeanInfo info = Introspector.getBeanInfo(bean.getClass());
-            for (PropertyDescriptor pd : info.getPropertyDescriptors()) {
-                if ("class".equals(pd.getName())) {
-                    continue;
-                }
-                Method reader = pd.getReadMethod();
-                if (reader != null) {
-                    json.put(pd.getName(), toJson(reader.invoke(bean)));
-                }
+            for (BeanProperty property : readers.get(bean.getClass())) {
+                json.put(property.name, toJson(property.read(bean)));
             }
 
             return json;
@@ -212,26 +290,13 @@ public final class JsonSerializer {
                 return instance;
             }
 
-            BeanInfo info = Introspector.getBeanInfo(type);
-            Map<String, Method> writers = new HashMap<>();
-
-            for (PropertyDescriptor pd : info.getPropertyDescriptors()) {
-                Method writer = pd.getWriteMethod();
-                if (writer != null) {
-                    writers.put(pd.getName(), writer);
-                }
-            }
+            Map<String, BeanProperty> properties = writers.get(type);
             for (String key : keys) {
-                JsonValue jsonValue = jsonObject.get(key);
-
-                Method method = writers.get(key);
-                if (method != null) {
-                    Class<?> parameterType = method.getParameterTypes()[0];
-                    Type genericParameterType = method
-                            .getGenericParameterTypes()[0];
-                    Object value = toObject(parameterType, genericParameterType,
-                            jsonValue);
-                    method.invoke(instance, value);
+                BeanProperty property = properties.get(key);
+                if (property != null) {
+                    Object value = toObject(property.type,
+                            property.genericType, jsonObject.get(key));
+                    property.write(instance, value);
                 }
             }
 
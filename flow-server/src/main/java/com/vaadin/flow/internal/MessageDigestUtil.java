@@ -27,6 +27,8 @@ import java.security.NoSuchAlgorithmException;
  */
 public class MessageDigestUtil {
 
+    private static final int HASH_BUFFER_SIZE = 1024;
+
     private MessageDigestUtil() {
         // Static helpers only
     }
@@ -44,6 +46,58 @@ public class MessageDigestUtil {
         return getSha256().digest(string.getBytes(StandardCharsets.UTF_16));
     }
 
+    /**
+     * Calculates the SHA-256 hash of the given bytes.
+     *
+     * @param data
+     *            the bytes to hash
+     *
+     * @return 32 bytes making up the hash
+     */
+    public static byte[] sha256(byte[] data) {
+        return getSha256().digest(data);
+    }
+
+    /**
+     * Calculates the SHA-256 hash of the UTF-16 representation of at most the
+     * given number of characters from the beginning of the given string.
+     * <p>
+     * For strings without unpaired surrogate characters, the result is the
+     * same as for {@link #sha256(String)} with the corresponding substring, but
+     * the characters are fed to the digest in small chunks instead of first
+     * creating a copy of the substring and its full byte representation.
+     *
+     * @param string
+     *            the string to hash
+     * @param maxLength
+     *            the maximum number of characters to hash
+     *
+     * @return 32 bytes making up the hash
+     */
+    public static byte[] sha256(String string, int maxLength) {
+        MessageDigest digest = getSha256();
+        int length = Math.min(string.length(), maxLength);
+        if (length > 0) {
+            byte[] buffer = new byte[Math.min(HASH_BUFFER_SIZE,
+                    2 * length + 2)];
+            // Big endian byte order mark, as written by UTF_16
+            buffer[0] = (byte) 0xFE;
+            buffer[1] = (byte) 0xFF;
+            int position = 2;
+            for (int i = 0; i < length; i++) {
+                if (position == buffer.length) {
+                    digest.update(buffer, 0, position);
+                    position = 0;
+                }
+                char character = string.charAt(i);
+                buffer[position++] = (byte) (character >> 8);
+                buffer[position++] = (byte) character;
+            }
+            digest.update(buffer, 0, position);
+        }
+        return digest.digest();
+    }
+
     private static MessageDigest getSha256() {
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
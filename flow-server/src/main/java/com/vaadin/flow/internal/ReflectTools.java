@@ -18,6 +18,9 @@ package com.vaadin.flow.internal;
 import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
@@ -49,6 +52,11 @@ import com.vaadin.flow.shared.util.SharedUtil;
  */
 public class ReflectTools implements Serializable {
 
+    // Resolving the constructor is much slower than invoking it, and
+    // components are instantiated reflectively on every navigation
+    private static final ReflectionCache<Object, Optional<MethodHandle>> constructorCache = new ReflectionCache<>(
+            ReflectTools::findConstructor);
+
     private static final Pattern GETTER_STARTS = Pattern
             .compile("^(get)\\p{Lu}");
     private static final Pattern IS_STARTS = Pattern.compile("^(is)\\p{Lu}");
@@ -473,50 +481,84 @@ public class ReflectTools implements Serializable {
     public static <T> T createProxyInstance(Class<T> proxyClass,
             Class<?> originalClass) {
         checkClassAccessibility(originalClass);
+        Optional<MethodHandle> constructor = constructorCache.get(proxyClass);
+        if (!constructor.isPresent()) {
+            throw new IllegalArgumentException(String.format(
+                    CREATE_INSTANCE_FAILED_NO_PUBLIC_NOARG_CONSTRUCTOR,
+                    originalClass.getName()));
+        }
+        if (Modifier.isAbstract(proxyClass.getModifiers())) {
+            throw instantiationFailed(originalClass,
+                    new InstantiationException(proxyClass.getName()));
+        }
         try {
-            Optional<Constructor<?>> constructor = Stream
-                    .of(proxyClass.getConstructors())
-                    .filter(ctor -> ctor.getParameterCount() == 0).findFirst();
-            if (constructor.isPresent()) {
-                return proxyClass.cast(constructor.get().newInstance());
-            }
-
-            constructor = Stream.of(proxyClass.getConstructors())
-                    .filter(ctor -> ctor.getParameterCount() == 1)
-                    .filter(ctor -> ctor.isVarArgs()).findFirst();
-            if (constructor.isPresent()) {
-                Class<?> paramType = constructor.get().getParameterTypes()[0];
-
-                return proxyClass.cast(constructor.get().newInstance(
-                        Array.newInstance(paramType.getComponentType(), 0)));
-            }
-        } catch (InstantiationException e) {
-            if (originalClass.isMemberClass()
-                    && !Modifier.isStatic(originalClass.getModifiers())) {
-                throw new IllegalArgumentException(String.format(
-                        CREATE_INSTANCE_FAILED_FOR_NON_STATIC_MEMBER_CLASS,
-                        originalClass.getName()), e);
-            } else {
-                throw new IllegalArgumentException(String.format(
-                        CREATE_INSTANCE_FAILED, originalClass.getName()), e);
-            }
+            return proxyClass.cast((Object) constructor.get().invokeExact());
         } catch (IllegalAccessException e) {
             throw new IllegalArgumentException(
                     String.format(CREATE_INSTANCE_FAILED_ACCESS_EXCEPTION,
                             originalClass.getName()),
                     e);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException(String.format(
-                    CREATE_INSTANCE_FAILED, originalClass.getName()), e);
-        } catch (InvocationTargetException e) {
+        } catch (Throwable e) { // NOSONAR
+            // Keep the cause chain of Constructor.newInstance
             throw new IllegalArgumentException(String.format(
                     CREATE_INSTANCE_FAILED_CONSTRUCTOR_THREW_EXCEPTION,
-                    originalClass.getName()), e);
+                    originalClass.getName()),
+                    new InvocationTargetException(e));
         }
+    }
 
-        throw new IllegalArgumentException(String.format(
-                CREATE_INSTANCE_FAILED_NO_PUBLIC_NOARG_CONSTRUCTOR,
-                originalClass.getName()));
+    private static IllegalArgumentException instantiationFailed(
+            Class<?> originalClass, InstantiationException cause) {
+        if (originalClass.isMemberClass()
+                && !Modifier.isStatic(originalClass.getModifiers())) {
+            return new IllegalArgumentException(String.format(
+                    CREATE_INSTANCE_FAILED_FOR_NON_STATIC_MEMBER_CLASS,
+                    originalClass.getName()), cause);
+        }
+        return new IllegalArgumentException(
+                String.format(CREATE_INSTANCE_FAILED, originalClass.getName()),
+                cause);
+    }
+
+    /**
+     * Finds the public no-arg or single varargs constructor of the given type
+     * and adapts it to a <code>()Object</code> method handle. If the
+     * constructor isn't accessible, the returned handle throws the access
+     * failure when invoked.
+     */
+    private static Optional<MethodHandle> findConstructor(Class<?> type) {
+        Constructor<?> noArgs = null;
+        Constructor<?> varArgs = null;
+        for (Constructor<?> ctor : type.getConstructors()) {
+            if (ctor.getParameterCount() == 0) {
+                noArgs = ctor;
+                break;
+            } else if (varArgs == null && ctor.getParameterCount() == 1
+                    && ctor.isVarArgs()) {
+                varArgs = ctor;
+            }
+        }
+        Constructor<?> constructor = noArgs != null ? noArgs : varArgs;
+        if (constructor == null) {
+            return Optional.empty();
+        }
+
+        MethodType factoryType = MethodType.methodType(Object.class);
+        try {
+            MethodHandle handle = MethodHandles.publicLookup()
+                    .unreflectConstructor(constructor);
+            if (constructor == varArgs) {
+                Class<?> paramType = constructor.getParameterTypes()[0];
+                handle = MethodHandles.insertArguments(handle, 0,
+                        Array.newInstance(paramType.getComponentType(), 0));
+            }
+            return Optional.of(handle.asType(factoryType));
+        } catch (IllegalAccessException e) {
+            return Optional.of(MethodHandles.insertArguments(
+                    MethodHandles.throwException(Object.class,
+                            IllegalAccessException.class),
+                    0, e));
+        }
     }
 
     /**
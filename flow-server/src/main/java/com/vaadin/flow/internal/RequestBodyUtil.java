@@ -0,0 +1,110 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+import com.vaadin.flow.server.VaadinRequest;
+
+/**
+ * Utility class for reading request bodies into memory.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since 2.1
+ */
+public class RequestBodyUtil {
+
+    private static final int MAX_BUFFER_SIZE = 64 * 1024;
+
+    private static final int DEFAULT_BUFFER_SIZE = 4 * 1024;
+
+    private RequestBodyUtil() {
+        // Static helpers only
+    }
+
+    /**
+     * Reads the whole body of the given request, using the content length of
+     * the request to size the read buffer.
+     *
+     * @param request
+     *            the request to read the body from
+     * @return the request body, not <code>null</code>
+     * @throws IOException
+     *             If an IO error occurred
+     */
+    public static String readBody(VaadinRequest request) throws IOException {
+        return readBody(request.getReader(), request.getContentLength());
+    }
+
+    /**
+     * Reads everything from the given reader.
+     *
+     * @param reader
+     *            the reader to read from
+     * @return the request body, not <code>null</code>
+     * @throws IOException
+     *             If an IO error occurred
+     */
+    public static String readBody(Reader reader) throws IOException {
+        return readBody(reader, -1);
+    }
+
+    /**
+     * Reads everything from the given reader. The expected length is only used
+     * as a hint for sizing the read buffer so that a typical small message can
+     * be read into a buffer of the right size and turned into a string without
+     * any additional copying.
+     *
+     * @param reader
+     *            the reader to read from
+     * @param expectedLength
+     *            the expected number of characters in the body, or a number
+     *            less than one if not known
+     * @return the request body, not <code>null</code>
+     * @throws IOException
+     *             If an IO error occurred
+     */
+    public static String readBody(Reader reader, int expectedLength)
+            throws IOException {
+        char[] buffer = new char[expectedLength > 0
+                ? Math.min(expectedLength, MAX_BUFFER_SIZE)
+                : DEFAULT_BUFFER_SIZE];
+        int length = 0;
+
+        while (true) {
+            if (length == buffer.length) {
+                int next = reader.read();
+                if (next == -1) {
+                    break;
+                }
+                // The hint was too small, continue in a larger buffer
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                buffer[length++] = (char) next;
+            }
+            int read = reader.read(buffer, length, buffer.length - length);
+            if (read == -1) {
+                break;
+            }
+            length += read;
+        }
+
+        return new String(buffer, 0, length);
+    }
+}
@@ -16,14 +16,15 @@
 
 package com.vaadin.flow.internal;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLConnection;
 
-import javax.servlet.ServletOutputStream;
 import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
@@ -180,6 +181,170 @@ public class ResponseWriter implements Serializable {
         }
     }
 
+    /**
+     * Reads the contents of the given resource, along with its pre-compressed
+     * variants that are available, for keeping them in memory.
+     *
+     * @param filenameWithPath
+     *            the name of the file being read
+     * @param resourceUrl
+     *            the URL to the file, reported by the servlet container
+     * @param request
+     *            the request for the resource
+     * @param maxSize
+     *            the maximum size of the uncompressed contents in bytes
+     * @return the contents of the resource, or <code>null</code> if the size
+     *         of the resource is unknown or larger than the maximum size
+     * @throws IOException
+     *             if reading the resource fails
+     */
+    public CachedResource readResourceContents(String filenameWithPath,
+            URL resourceUrl, HttpServletRequest request, long maxSize)
+            throws IOException {
+        URLConnection connection = resourceUrl.openConnection();
+        long length = connection.getContentLengthLong();
+        if (length < 0 || length > maxSize) {
+            // Only release what the connection may have opened to find out
+            // the length, the contents are not read
+            // http://bugs.sun.com/bugdatabase/view_bug.do?bug_id=4257700
+            connection.getInputStream().close();
+            return null;
+        }
+        byte[] contents;
+        long lastModified;
+        try (InputStream dataStream = connection.getInputStream()) {
+            lastModified = connection.getLastModified();
+            contents = readStream(dataStream, (int) length);
+        }
+
+        byte[] brotliContents = null;
+        if (brotliEnabled) {
+            brotliContents = readCompressedContents(request,
+                    filenameWithPath + ".br");
+        }
+        byte[] gzipContents = readCompressedContents(request,
+                filenameWithPath + ".gz");
+        return new CachedResource(contents, gzipContents, brotliContents,
+                lastModified);
+    }
+
+    /**
+     * Writes the contents and content type (if available) of the given cached
+     * resource to the response. A compressed variant is written if available
+     * and accepted by the request.
+     * <p>
+     * The entity tag of the variant is written to the response. If the
+     * request has an <code>If-None-Match</code> header matching the entity
+     * tag, the response is set to not modified without writing the contents.
+     *
+     * @param filenameWithPath
+     *            the name of the file being sent
+     * @param resource
+     *            the cached resource to write
+     * @param request
+     *            the request object to read from
+     * @param response
+     *            the response object to write to
+     * @throws IOException
+     *             if getting the output stream of the response fails
+     */
+    public void writeResponseContents(String filenameWithPath,
+            CachedResource resource, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        writeContentType(filenameWithPath, request, response);
+
+        byte[] data = resource.getContents();
+        String contentEncoding = null;
+        if (brotliEnabled && resource.getBrotliContents() != null
+                && acceptsBrotliResource(request)) {
+            data = resource.getBrotliContents();
+            contentEncoding = "br";
+        } else if (resource.getGzipContents() != null
+                && acceptsGzippedResource(request)) {
+            data = resource.getGzipContents();
+            contentEncoding = "gzip";
+        }
+
+        if (resource.getGzipContents() != null
+                || resource.getBrotliContents() != null) {
+            response.setHeader("Vary", "Accept-Encoding");
+        }
+        String eTag = resource.getETag(contentEncoding);
+        response.setHeader("ETag", eTag);
+        if (matchesETag(request.getHeader("If-None-Match"), eTag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        if (contentEncoding != null) {
+            response.setHeader("Content-Encoding", contentEncoding);
+        }
+        response.setContentLengthLong(data.length);
+        try {
+            response.getOutputStream().write(data);
+        } catch (IOException e) {
+            getLogger().debug("Error writing static file to user", e);
+        }
+    }
+
+    private byte[] readCompressedContents(HttpServletRequest request,
+            String compressedFilenameWithPath) {
+        try {
+            URL url = getResource(request, compressedFilenameWithPath);
+            if (url == null) {
+                return null;
+            }
+            URLConnection connection = url.openConnection();
+            try (InputStream dataStream = connection.getInputStream()) {
+                return readStream(dataStream,
+                        (int) Math.max(0, connection.getContentLengthLong()));
+            }
+        } catch (Exception e) {
+            getLogger().debug(
+                    "Unexpected exception looking for compressed resource {}",
+                    compressedFilenameWithPath, e);
+            return null;
+        }
+    }
+
+    private byte[] readStream(InputStream inputStream, int expectedLength)
+            throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(
+                expectedLength);
+        writeStream(outputStream, inputStream);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Checks whether the value of an <code>If-None-Match</code> header matches
+     * the given entity tag, using the weak comparison that is specified for
+     * the header.
+     *
+     * @param ifNoneMatch
+     *            the value of the <code>If-None-Match</code> header, or
+     *            <code>null</code> if the request has no such header
+     * @param eTag
+     *            the entity tag of the current representation, not
+     *            <code>null</code>
+     * @return <code>true</code> if the header matches the entity tag,
+     *         <code>false</code> otherwise
+     */
+    public static boolean matchesETag(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if ("*".equals(tag) || eTag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private URL getResource(HttpServletRequest request, String resource )
             throws MalformedURLException {
         URL url = request.getServletContext()
@@ -221,7 +386,7 @@ public class ResponseWriter implements Serializable {
         return true;
     }
 
-    private void writeStream(ServletOutputStream outputStream,
+    private void writeStream(OutputStream outputStream,
             InputStream inputStream) throws IOException {
         final byte[] buffer = new byte[bufferSize];
         int bytes;
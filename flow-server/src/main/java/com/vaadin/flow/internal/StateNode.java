@@ -138,7 +138,18 @@ public class StateNode implements Serializable {
      */
     private Serializable features;
 
-    private Map<Class<? extends NodeFeature>, Serializable> changes;
+    /**
+     * Change trackers of the features of this node, stored at the same index
+     * as the feature itself. <code>null</code> if there are no changes.
+     */
+    private Serializable[] changes;
+
+    /**
+     * The state tree that has this node in its list of dirty nodes, or
+     * <code>null</code> if the node is not waiting for its changes to be
+     * collected.
+     */
+    private StateTree dirtyIn;
 
     private List<Command> attachListeners;
 
@@ -340,7 +351,15 @@ public class StateNode implements Serializable {
     }
 
     private void forEachFeature(Consumer<NodeFeature> action) {
-        getInitializedFeatures().forEach(action::accept);
+        if (features instanceof NodeFeature) {
+            action.accept((NodeFeature) features);
+        } else if (features != null) {
+            for (NodeFeature feature : (NodeFeature[]) features) {
+                if (feature != null) {
+                    action.accept(feature);
+                }
+            }
+        }
     }
 
     private Stream<NodeFeature> getInitializedFeatures() {
@@ -379,6 +398,7 @@ public class StateNode implements Serializable {
      */
     private void reset() {
         owner = NullOwner.get();
+        dirtyIn = null;
         id = -1;
         wasAttached = false;
         hasBeenAttached = false;
@@ -531,6 +551,49 @@ public class StateNode implements Serializable {
         owner.markAsDirty(this);
     }
 
+    /**
+     * Marks this node as waiting for its changes to be collected by the given
+     * tree.
+     *
+     * @param tree
+     *            the tree that will collect the changes of this node
+     * @return <code>true</code> if the node was not yet marked for the tree
+     */
+    final boolean setDirtyIn(StateTree tree) {
+        if (dirtyIn == tree) {
+            return false;
+        }
+        dirtyIn = tree;
+        return true;
+    }
+
+    /**
+     * Checks whether this node is waiting for its changes to be collected by
+     * the given tree.
+     *
+     * @param tree
+     *            the tree to check
+     * @return <code>true</code> if the node is marked dirty for the tree
+     */
+    final boolean isDirtyIn(StateTree tree) {
+        return dirtyIn == tree;
+    }
+
+    /**
+     * Removes the dirty mark of this node if it was set by the given tree.
+     *
+     * @param tree
+     *            the tree which is collecting the changes of this node
+     * @return <code>true</code> if the node was marked dirty for the tree
+     */
+    final boolean clearDirtyIn(StateTree tree) {
+        if (dirtyIn != tree) {
+            return false;
+        }
+        dirtyIn = null;
+        return true;
+    }
+
     /**
      * Checks whether this node is attached to a state tree.
      *
@@ -599,24 +662,68 @@ public class StateNode implements Serializable {
                 doCollectChanges(collector, getDisalowFeatures());
             }
         } else {
-            doCollectChanges(collector, getInitializedFeatures());
+            if (changes != null) {
+                forEachFeature(
+                        feature -> collectFeatureChanges(feature, collector));
+            }
+            finishCollectChanges();
         }
     }
 
     private void doCollectChanges(Consumer<NodeChange> collector,
             Stream<NodeFeature> features) {
-        features.filter(this::hasChangeTracker).forEach(feature -> {
+        if (changes != null) {
+            features.forEach(
+                    feature -> collectFeatureChanges(feature, collector));
+        }
+        finishCollectChanges();
+    }
+
+    private void collectFeatureChanges(NodeFeature feature,
+            Consumer<NodeChange> collector) {
+        int index = getChangeTrackerIndex(feature);
+        if (changes != null && changes[index] != null) {
             feature.collectChanges(collector);
-            changes.remove(feature.getClass());
-        });
+            changes[index] = null;
+        }
+    }
+
+    private void finishCollectChanges() {
         isInitialChanges = false;
-        if (changes != null && changes.isEmpty()) {
+        if (changes != null) {
+            for (Serializable tracker : changes) {
+                if (tracker != null) {
+                    return;
+                }
+            }
             changes = null;
         }
     }
 
-    private boolean hasChangeTracker(NodeFeature nodeFeature) {
-        return changes != null && changes.containsKey(nodeFeature.getClass());
+    /**
+     * Prepares this node so that the next {@link #collectChanges(Consumer)}
+     * reports its full state, as if the client side had never seen the node.
+     * This is used internally by the state tree when the client side state
+     * tree is rebuilt from scratch.
+     */
+    void prepareForResync() {
+        if (!isAttached()) {
+            // The client side will not know about the node after the resync,
+            // so there is nothing to detach
+            wasAttached = false;
+            return;
+        }
+
+        isInitialChanges = true;
+        if (parent == null) {
+            // The root node is never reported as attached, so its changes
+            // are generated directly
+            clearChanges();
+            forEachFeature(NodeFeature::generateChangesFromEmpty);
+        } else {
+            wasAttached = false;
+        }
+        markAsDirty();
     }
 
     /**
@@ -814,12 +921,32 @@ public class StateNode implements Serializable {
     @SuppressWarnings("unchecked")
     public <T extends Serializable> T getChangeTracker(NodeFeature feature,
             Supplier<T> factory) {
+        int index = getChangeTrackerIndex(feature);
         if (changes == null) {
-            changes = new HashMap<>();
+            changes = new Serializable[featureSet.mappings.size()];
+        }
+
+        Serializable tracker = changes[index];
+        if (tracker == null) {
+            tracker = factory.get();
+            changes[index] = tracker;
         }
+        return (T) tracker;
+    }
 
-        return (T) changes.computeIfAbsent(feature.getClass(),
-                k -> factory.get());
+    private int getChangeTrackerIndex(NodeFeature feature) {
+        // The feature may be a subclass of the declared type, e.g. a spy
+        Class<?> type = feature.getClass();
+        Integer index = featureSet.mappings.get(type);
+        while (index == null && type.getSuperclass() != null) {
+            type = type.getSuperclass();
+            index = featureSet.mappings.get(type);
+        }
+        if (index == null) {
+            throw new IllegalStateException(
+                    "Node does not have the feature " + feature.getClass());
+        }
+        return index.intValue();
     }
 
     /**
@@ -881,7 +1008,20 @@ public class StateNode implements Serializable {
      * @see NodeFeature#allowsChanges()
      */
     public void updateActiveState() {
-        setInactive(getDisalowFeatures().count() != 0);
+        setInactive(hasDisallowFeatures());
+    }
+
+    private boolean hasDisallowFeatures() {
+        if (features instanceof NodeFeature) {
+            return !((NodeFeature) features).allowsChanges();
+        } else if (features != null) {
+            for (NodeFeature feature : (NodeFeature[]) features) {
+                if (feature != null && !feature.allowsChanges()) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     /**
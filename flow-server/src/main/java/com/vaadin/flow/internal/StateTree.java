@@ -17,6 +17,7 @@
 package com.vaadin.flow.internal;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -131,7 +132,26 @@ public class StateTree implements NodeOwner {
         void remove();
     }
 
-    private Set<StateNode> dirtyNodes = new LinkedHashSet<>();
+    /**
+     * Dirty lists larger than this are not reused, to avoid keeping a large
+     * array around after e.g. a big initial render.
+     */
+    private static final int MAX_REUSED_DIRTY_LIST_SIZE = 1024;
+
+    /**
+     * Nodes marked as dirty, in the order they were marked. A node is added
+     * only if it isn't already marked for this tree, see
+     * {@link StateNode#setDirtyIn(StateTree)}. Nodes which have since then
+     * been moved to another tree remain in the list but are ignored.
+     */
+    private ArrayList<StateNode> dirtyNodes = new ArrayList<>();
+
+    /**
+     * An empty list which replaces {@link #dirtyNodes} when its nodes are
+     * collected, so that no new list needs to be allocated for every
+     * response.
+     */
+    private ArrayList<StateNode> spareDirtyNodes = new ArrayList<>();
 
     private final Map<Integer, StateNode> idToNode = new HashMap<>();
 
@@ -257,20 +277,64 @@ public class StateTree implements NodeOwner {
      *            a consumer accepting node changes
      */
     public void collectChanges(Consumer<NodeChange> collector) {
-        Set<StateNode> allDirtyNodes = new LinkedHashSet<>();
-        boolean evaluateNewDirtyNodes = true;
-
-        // The updateActiveState method can create new dirty nodes, so they need
-        // to be collected as well
-        while (evaluateNewDirtyNodes) {
-            Set<StateNode> dirtyNodesSet = doCollectDirtyNodes(true);
-            dirtyNodesSet.forEach(StateNode::updateActiveState);
-            evaluateNewDirtyNodes = allDirtyNodes.addAll(dirtyNodesSet);
+        // The updateActiveState method can create new dirty nodes, which are
+        // appended to the list and thus also visited by this loop
+        for (int i = 0; i < dirtyNodes.size(); i++) {
+            StateNode node = dirtyNodes.get(i);
+            if (node.isDirtyIn(this)) {
+                node.updateActiveState();
+            }
         }
 
         // TODO fire preCollect events
 
-        allDirtyNodes.forEach(node -> node.collectChanges(collector));
+        // Nodes marked as dirty while collecting changes are collected the
+        // next time
+        ArrayList<StateNode> allDirtyNodes = dirtyNodes;
+        dirtyNodes = spareDirtyNodes;
+        int collected = 0;
+        try {
+            while (collected < allDirtyNodes.size()) {
+                StateNode node = allDirtyNodes.get(collected++);
+                if (node.clearDirtyIn(this)) {
+                    node.collectChanges(collector);
+                }
+            }
+        } finally {
+            // Don't lose the nodes that were not collected because of an
+            // exception
+            for (int i = collected; i < allDirtyNodes.size(); i++) {
+                StateNode node = allDirtyNodes.get(i);
+                if (node.isDirtyIn(this)) {
+                    dirtyNodes.add(node);
+                }
+            }
+
+            if (allDirtyNodes.size() > MAX_REUSED_DIRTY_LIST_SIZE) {
+                spareDirtyNodes = new ArrayList<>();
+            } else {
+                allDirtyNodes.clear();
+                spareDirtyNodes = allDirtyNodes;
+            }
+        }
+    }
+
+    /**
+     * Prepares the tree for a resynchronization of the client side. The next
+     * {@link #collectChanges(Consumer)} will report all attached nodes as
+     * newly attached together with their full state, so that the client can
+     * rebuild its state tree from scratch.
+     * <p>
+     * <b>WARNING</b>: This is an internal method which is not intended to be
+     * used outside.
+     */
+    public void prepareForResync() {
+        checkHasLock();
+
+        new ArrayList<>(dirtyNodes).stream()
+                .filter(node -> node.isDirtyIn(this) && !node.isAttached())
+                .forEach(StateNode::prepareForResync);
+        rootNode.visitNodeTree(StateNode::prepareForResync);
     }
 
     @Override
@@ -278,7 +342,9 @@ public class StateTree implements NodeOwner {
         assert node.getOwner() == this;
         checkHasLock();
 
-        dirtyNodes.add(node);
+        if (node.setDirtyIn(this)) {
+            dirtyNodes.add(node);
+        }
     }
 
     /**
@@ -287,7 +353,13 @@ public class StateTree implements NodeOwner {
      * @return a set of dirty nodes, in the order they were marked dirty
      */
     public Set<StateNode> collectDirtyNodes() {
-        return doCollectDirtyNodes(false);
+        Set<StateNode> nodes = new LinkedHashSet<>();
+        for (StateNode node : dirtyNodes) {
+            if (node.isDirtyIn(this)) {
+                nodes.add(node);
+            }
+        }
+        return Collections.unmodifiableSet(nodes);
     }
 
     /**
@@ -408,22 +480,4 @@ public class StateTree implements NodeOwner {
             session.checkHasLock();
         }
     }
-
-    /**
-     * Gets all the nodes that have been marked as dirty.
-     * <p>
-     * If {@code reset} is {@code true} then dirty nodes collection is reset.
-     *
-     * @return a set of dirty nodes, in the order they were marked dirty
-     */
-    private Set<StateNode> doCollectDirtyNodes(boolean reset) {
-        if (reset) {
-            Set<StateNode> collectedNodes = dirtyNodes;
-            dirtyNodes = new LinkedHashSet<>();
-            return collectedNodes;
-        } else {
-            return Collections.unmodifiableSet(dirtyNodes);
-        }
-
-    }
 }
@@ -27,6 +27,7 @@ import java.util.concurrent.locks.ReentrantLock;
 
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.internal.ReflectTools;
+import com.vaadin.flow.internal.ReflectionCache;
 import com.vaadin.flow.router.HasErrorParameter;
 import com.vaadin.flow.router.HasUrlParameter;
 import com.vaadin.flow.router.RouteAliasData;
@@ -63,6 +64,13 @@ public abstract class AbstractRouteRegistry implements RouteRegistry {
         void configure(ConfigureRoutes configuration);
     }
 
+    /**
+     * The classes declaring {@link #getNavigationTarget(String, List)} for
+     * each registry type.
+     */
+    private static final ReflectionCache<AbstractRouteRegistry, Class<?>> navigationTargetDeclaringClasses = new ReflectionCache<>(
+            AbstractRouteRegistry::getNavigationTargetDeclaringClass);
+
     /**
      * Lock used to ensure there's only one update going on at once.
      * <p>
@@ -184,6 +192,33 @@ public abstract class AbstractRouteRegistry implements RouteRegistry {
         return configuredRoutes;
     }
 
+    /**
+     * Checks whether {@link #getNavigationTarget(String, List)} of this
+     * registry is implemented by the given class, i.e. not overridden by a
+     * subclass of it. A registry which resolves navigation targets directly
+     * from its configuration should only do so if the method has not been
+     * overridden, since the overriding implementation would be ignored.
+     *
+     * @param type
+     *            the class expected to implement the method, not
+     *            <code>null</code>
+     * @return <code>true</code> if the method of this registry is implemented
+     *         by the given class, <code>false</code> otherwise
+     */
+    public boolean isNavigationTargetImplementedBy(Class<?> type) {
+        return navigationTargetDeclaringClasses.get(getClass()) == type;
+    }
+
+    private static Class<?> getNavigationTargetDeclaringClass(
+            Class<AbstractRouteRegistry> type) {
+        try {
+            return type.getMethod("getNavigationTarget", String.class,
+                    List.class).getDeclaringClass();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     @Override
     public List<RouteData> getRegisteredRoutes() {
         return getRegisteredRoutes(getConfiguration());
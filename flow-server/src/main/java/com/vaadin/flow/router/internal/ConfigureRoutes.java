@@ -105,6 +105,17 @@ public class ConfigureRoutes extends ConfiguredRoutes implements Serializable {
         return exceptionTargetMap;
     }
 
+    /**
+     * Override so that the index always reflects the current routes, since
+     * this configuration is mutable.
+     *
+     * @return a route segment index of the current routes
+     */
+    @Override
+    public RouteSegmentTrie getRouteSegmentTrie() {
+        return new RouteSegmentTrie(getRoutesMap());
+    }
+
     /*-----------------------------------*/
     /* Mutation functions                */
     /*-----------------------------------*/
@@ -42,6 +42,8 @@ public class ConfiguredRoutes implements Serializable {
     private final Map<Class<? extends Component>, String> targetRoutes;
     private final Map<Class<? extends Exception>, Class<? extends Component>> exceptionTargets;
 
+    private transient volatile RouteSegmentTrie routeSegmentTrie;
+
     /**
      * Create an immutable RouteConfiguration.
      */
@@ -163,6 +165,20 @@ public class ConfiguredRoutes implements Serializable {
         return Optional.empty();
     }
 
+    /**
+     * Gets an index of the routes in this configuration by their path
+     * segments, for resolving the navigation target of a location without
+     * looking up each prefix of the location separately.
+     *
+     * @return the route segment index, not <code>null</code>
+     */
+    public RouteSegmentTrie getRouteSegmentTrie() {
+        if (routeSegmentTrie == null) {
+            routeSegmentTrie = new RouteSegmentTrie(getRoutesMap());
+        }
+        return routeSegmentTrie;
+    }
+
     /**
      * Get all registered paths that have been registered.
      *
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.router.internal;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.vaadin.flow.component.Component;
+
+/**
+ * The result of resolving a location against the registered routes: the
+ * navigation target, the route path it was found with and the url parameters
+ * that remain after the route path.
+ *
+ * @since 2.1
+ */
+public class NavigationRouteTarget implements Serializable {
+
+    private final String path;
+    private final Class<? extends Component> target;
+    private final List<String> urlParameters;
+
+    /**
+     * Creates a new navigation route target.
+     *
+     * @param path
+     *            the route path that matched the location, not
+     *            <code>null</code>
+     * @param target
+     *            the navigation target, not <code>null</code>
+     * @param segments
+     *            the path segments of the location following the route path,
+     *            not <code>null</code>
+     */
+    public NavigationRouteTarget(String path,
+            Class<? extends Component> target, List<String> segments) {
+        assert path != null;
+        assert target != null;
+        assert segments != null;
+
+        this.path = path;
+        this.target = target;
+        this.urlParameters = toUrlParameters(segments);
+    }
+
+    /**
+     * Gets the route path that matched the location.
+     *
+     * @return the route path, not <code>null</code>
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the navigation target.
+     *
+     * @return the navigation target, not <code>null</code>
+     */
+    public Class<? extends Component> getTarget() {
+        return target;
+    }
+
+    /**
+     * Gets the url parameters, i.e. the segments of the location following the
+     * route path. Empty segments caused by trailing slashes are not included.
+     *
+     * @return an unmodifiable list of url parameters, not <code>null</code>
+     */
+    public List<String> getUrlParameters() {
+        return urlParameters;
+    }
+
+    private static List<String> toUrlParameters(List<String> segments) {
+        int end = segments.size();
+        while (end > 0 && segments.get(end - 1).isEmpty()) {
+            end--;
+        }
+        if (end == 0) {
+            return Collections.emptyList();
+        }
+        return Collections
+                .unmodifiableList(new ArrayList<>(segments.subList(0, end)));
+    }
+}
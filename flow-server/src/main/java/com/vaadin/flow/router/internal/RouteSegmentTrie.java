@@ -0,0 +1,166 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.router.internal;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.server.startup.RouteTarget;
+
+/**
+ * Index of registered routes by their path segments.
+ * <p>
+ * Resolving a location walks the segments of the location down the tree once
+ * instead of looking up every prefix of the location as a separate path
+ * string. The longest route path that has a navigation target accepting the
+ * remaining segments as parameters wins.
+ * <p>
+ * The index is immutable. It is built from the routes of a
+ * {@link ConfiguredRoutes} and rebuilt whenever the configuration changes.
+ *
+ * @since 2.1
+ */
+public class RouteSegmentTrie implements Serializable {
+
+    private static class Node implements Serializable {
+        private Map<String, Node> children = Collections.emptyMap();
+        private String path;
+        private RouteTarget routeTarget;
+
+        private Node getOrCreateChild(String segment) {
+            if (children.isEmpty()) {
+                children = new HashMap<>();
+            }
+            return children.computeIfAbsent(segment, key -> new Node());
+        }
+    }
+
+    private final Node root = new Node();
+
+    /**
+     * Creates an index of the given routes.
+     *
+     * @param routes
+     *            the route targets by their route path, not <code>null</code>
+     */
+    public RouteSegmentTrie(Map<String, RouteTarget> routes) {
+        routes.forEach((path, routeTarget) -> {
+            Node node = root;
+            for (String segment : path.split("/", -1)) {
+                node = node.getOrCreateChild(segment);
+            }
+            node.path = path;
+            node.routeTarget = routeTarget;
+        });
+    }
+
+    /**
+     * Finds the navigation target for the given location segments.
+     *
+     * @param segments
+     *            the path segments of the location, not <code>null</code>
+     * @return the navigation route target, or an empty optional if no route
+     *         matches the segments
+     */
+    public Optional<NavigationRouteTarget> find(List<String> segments) {
+        return find(segments, Collections.singletonList(this));
+    }
+
+    /**
+     * Finds the navigation target for the given location segments from
+     * multiple indexes. Route paths are tried from the longest to the
+     * shortest and for each route path, the indexes are tried in the given
+     * order. This allows e.g. session scoped routes to take precedence over
+     * application scoped routes with the same path.
+     *
+     * @param segments
+     *            the path segments of the location, not <code>null</code>
+     * @param indexes
+     *            the indexes to search in order of precedence, not
+     *            <code>null</code>
+     * @return the navigation route target, or an empty optional if no route
+     *         matches the segments
+     */
+    public static Optional<NavigationRouteTarget> find(List<String> segments,
+            List<RouteSegmentTrie> indexes) {
+        if (segments.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Node[][] paths = new Node[indexes.size()][];
+        for (int i = 0; i < paths.length; i++) {
+            paths[i] = indexes.get(i).walk(segments);
+        }
+
+        for (int depth = segments.size(); depth > 0; depth--) {
+            List<String> remaining = segments.subList(depth, segments.size());
+            for (Node[] path : paths) {
+                NavigationRouteTarget match = match(path[depth], remaining);
+                if (match != null) {
+                    return Optional.of(match);
+                }
+            }
+        }
+
+        if (!segments.get(0).isEmpty()) {
+            // The root route can also take all the segments as parameters
+            for (RouteSegmentTrie index : indexes) {
+                NavigationRouteTarget match = match(
+                        index.root.children.get(""), segments);
+                if (match != null) {
+                    return Optional.of(match);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Gets the nodes along the given segments, indexed by depth. Depths that
+     * are not reached are <code>null</code>.
+     */
+    private Node[] walk(List<String> segments) {
+        Node[] path = new Node[segments.size() + 1];
+        Node node = root;
+        path[0] = node;
+        for (int i = 0; i < segments.size(); i++) {
+            node = node.children.get(segments.get(i));
+            if (node == null) {
+                break;
+            }
+            path[i + 1] = node;
+        }
+        return path;
+    }
+
+    private static NavigationRouteTarget match(Node node,
+            List<String> remaining) {
+        if (node == null || node.routeTarget == null) {
+            return null;
+        }
+        Class<? extends Component> target = node.routeTarget
+                .getTarget(remaining);
+        if (target == null) {
+            return null;
+        }
+        return new NavigationRouteTarget(node.path, target, remaining);
+    }
+}
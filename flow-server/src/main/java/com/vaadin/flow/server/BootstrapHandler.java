@@ -35,6 +35,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -46,6 +47,7 @@ import org.jsoup.nodes.DataNode;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.DocumentType;
 import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
 import org.jsoup.parser.Parser;
 import org.jsoup.parser.Tag;
 import org.jsoup.select.Elements;
@@ -67,7 +69,7 @@ import com.vaadin.flow.server.BootstrapUtils.ThemeSettings;
 import com.vaadin.flow.server.communication.AtmospherePushConnection;
 import com.vaadin.flow.server.communication.PushConnectionFactory;
 import com.vaadin.flow.server.communication.UidlWriter;
-import com.vaadin.flow.server.frontend.FrontendUtils;
+import com.vaadin.flow.server.frontend.StatsIndex;
 import com.vaadin.flow.shared.ApplicationConstants;
 import com.vaadin.flow.shared.VaadinUriResolver;
 import com.vaadin.flow.shared.communication.PushMode;
@@ -497,6 +499,61 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
     protected static final class BootstrapPageBuilder
             implements PageBuilder, Serializable {
 
+        /**
+         * The maximum number of parsed inline contents that are kept for
+         * reuse. Inline contents are usually read from static files, but they
+         * can also be generated per request by a {@link PageConfigurator}.
+         */
+        private static final int MAX_CACHED_PARSED_CONTENTS = 100;
+
+        /**
+         * Parts of the bootstrap page that are the same for every request to
+         * a service in production mode. The elements are templates which are
+         * cloned into each page.
+         */
+        private static final class PageSkeleton {
+            private final VaadinService service;
+            private final List<Element> frameworkScripts;
+            private final List<Element> pwaHeadElements;
+            private final List<Node> pwaBodyNodes;
+            private final Map<String, Document> parsedContents = new ConcurrentHashMap<>();
+
+            private PageSkeleton(VaadinService service,
+                    List<Element> frameworkScripts,
+                    List<Element> pwaHeadElements, List<Node> pwaBodyNodes) {
+                this.service = service;
+                this.frameworkScripts = frameworkScripts;
+                this.pwaHeadElements = pwaHeadElements;
+                this.pwaBodyNodes = pwaBodyNodes;
+            }
+
+            @SuppressWarnings("unchecked")
+            private synchronized <T extends Node> List<T> copy(
+                    List<T> templates) {
+                List<T> copies = new ArrayList<>(templates.size());
+                for (T template : templates) {
+                    copies.add((T) template.clone());
+                }
+                return copies;
+            }
+
+            private Document getParsedContents(String contents) {
+                Document document = parsedContents.get(contents);
+                if (document == null) {
+                    document = parseContents(contents);
+                    if (parsedContents.size() >= MAX_CACHED_PARSED_CONTENTS) {
+                        return document;
+                    }
+                    parsedContents.putIfAbsent(contents, document);
+                }
+                synchronized (this) {
+                    return document.clone();
+                }
+            }
+        }
+
+        private transient volatile PageSkeleton pageSkeleton;
+
         /**
          * Returns the bootstrap page for the given context.
          *
@@ -562,6 +619,34 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
             return clientEngineFile.get();
         }
 
+        /**
+         * Gets the cached parts of the page for the given service, or
+         * <code>null</code> if the page should be built from scratch because
+         * the service is not in production mode.
+         */
+        private PageSkeleton getPageSkeleton(VaadinService service) {
+            if (service == null) {
+                return null;
+            }
+            DeploymentConfiguration config = service
+                    .getDeploymentConfiguration();
+            if (!config.isProductionMode() || config.isCompatibilityMode()) {
+                return null;
+            }
+            PageSkeleton skeleton = pageSkeleton;
+            if (skeleton == null || skeleton.service != service) {
+                // Concurrent requests may build the skeleton more than once,
+                // which is harmless
+                PwaRegistry registry = service.getPwaRegistry();
+                skeleton = new PageSkeleton(service,
+                        createFrameworkScripts(service),
+                        createPwaHeadElements(registry),
+                        createPwaBodyNodes(registry));
+                pageSkeleton = skeleton;
+            }
+            return skeleton;
+        }
+
         private void checkWebpackStatus(Document document) {
             DevModeHandler devMode = DevModeHandler.getDevModeHandler();
             if (devMode != null) {
@@ -639,9 +724,17 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
                 return createDependencyElement(context.getUriResolver(),
                         LoadMode.INLINE, dependencyJson, dependencyType);
             }
-            return Jsoup
-                    .parse(dependencyJson.getString(Dependency.KEY_CONTENTS),
-                            "", Parser.xmlParser());
+            String contents = dependencyJson.getString(Dependency.KEY_CONTENTS);
+            PageSkeleton skeleton = getPageSkeleton(
+                    context.getSession().getService());
+            if (skeleton != null) {
+                return skeleton.getParsedContents(contents);
+            }
+            return parseContents(contents);
+        }
+
+        private static Document parseContents(String contents) {
+            return Jsoup.parse(contents, "", Parser.xmlParser());
         }
 
         private void handleInlineTargets(BootstrapContext context, Element head,
@@ -828,15 +921,11 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
                 inlineEs6Collections(head, context);
                 appendWebComponentsPolyfills(head, context);
             } else {
-                conf.getPolyfills().forEach(polyfill -> head.appendChild(
-                        createJavaScriptElement(
-                                "./" + VAADIN_MAPPING + polyfill, false)));
-                try {
-                    appendNpmBundle(head, service);
-                } catch (IOException e) {
-                    throw new BootstrapException(
-                            "Unable to read webpack stats file.", e);
-                }
+                PageSkeleton skeleton = getPageSkeleton(service);
+                List<Element> frameworkScripts = skeleton != null
+                        ? skeleton.copy(skeleton.frameworkScripts)
+                        : createFrameworkScripts(service);
+                frameworkScripts.forEach(head::appendChild);
             }
 
             if (context.getPushMode().isEnabled()) {
@@ -848,9 +937,24 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
                     createJavaScriptElement(getClientEngineUrl(context)));
         }
 
-        private void appendNpmBundle(Element head, VaadinService service)
-                throws IOException {
-            String content = FrontendUtils.getStatsAssetsByChunkName(service);
+        private List<Element> createFrameworkScripts(VaadinService service) {
+            List<Element> scripts = new ArrayList<>();
+            service.getDeploymentConfiguration().getPolyfills()
+                    .forEach(polyfill -> scripts.add(createJavaScriptElement(
+                            "./" + VAADIN_MAPPING + polyfill, false)));
+            try {
+                appendNpmBundle(scripts, service);
+            } catch (IOException e) {
+                throw new BootstrapException(
+                        "Unable to read webpack stats file.", e);
+            }
+            return scripts;
+        }
+
+        private void appendNpmBundle(List<Element> scripts,
+                VaadinService service) throws IOException {
+            String content = StatsIndex.getInstance(service)
+                    .getAssetsByChunkName(service);
             if (content == null) {
                 throw new IOException(
                         "The stats file from webpack (stats.json) was not found.\n"
@@ -864,9 +968,9 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
                 Element script = createJavaScriptElement(
                         "./" + VAADIN_MAPPING + chunks.getString(key));
                 if (key.endsWith(".es5")) {
-                    head.appendChild(script.attr("nomodule", true));
+                    scripts.add(script.attr("nomodule", true));
                 } else {
-                    head.appendChild(script.attr("type", "module"));
+                    scripts.add(script.attr("type", "module"));
                 }
             }
         }
@@ -964,52 +1068,79 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
                 return;
             }
 
-            PwaRegistry registry = vaadinService.getPwaRegistry();
-            if (registry == null) {
-                return;
+            List<Element> headElements;
+            List<Node> bodyNodes;
+            PageSkeleton skeleton = getPageSkeleton(vaadinService);
+            if (skeleton != null) {
+                headElements = skeleton.copy(skeleton.pwaHeadElements);
+                bodyNodes = skeleton.copy(skeleton.pwaBodyNodes);
+            } else {
+                PwaRegistry registry = vaadinService.getPwaRegistry();
+                headElements = createPwaHeadElements(registry);
+                bodyNodes = createPwaBodyNodes(registry);
             }
 
+            // Add header injections
+            headElements.forEach(document.head()::appendChild);
+            // add body injections
+            bodyNodes.forEach(document.body()::appendChild);
+        }
+
+        private List<Element> createPwaHeadElements(PwaRegistry registry) {
+            if (registry == null
+                    || !registry.getPwaConfiguration().isEnabled()) {
+                return Collections.emptyList();
+            }
             PwaConfiguration config = registry.getPwaConfiguration();
+            Element head = new Element(Tag.valueOf("head"), "");
+
+            // Describe PWA capability for iOS devices
+            head.appendElement(META_TAG)
+                    .attr("name", "apple-mobile-web-app-capable")
+                    .attr(CONTENT_ATTRIBUTE, "yes");
+
+            // Theme color
+            head.appendElement(META_TAG).attr("name", "theme-color")
+                    .attr(CONTENT_ATTRIBUTE, config.getThemeColor());
+            head.appendElement(META_TAG)
+                    .attr("name", "apple-mobile-web-app-status-bar-style")
+                    .attr(CONTENT_ATTRIBUTE, config.getThemeColor());
+
+            // Add manifest
+            head.appendElement("link").attr("rel", "manifest")
+                    .attr("href", config.getManifestPath());
+
+            // Add icons
+            for (PwaIcon icon : registry.getHeaderIcons()) {
+                head.appendChild(icon.asElement());
+            }
 
-            if (config.isEnabled()) {
-                // Add header injections
-                Element head = document.head();
-
-                // Describe PWA capability for iOS devices
-                head.appendElement(META_TAG)
-                        .attr("name", "apple-mobile-web-app-capable")
-                        .attr(CONTENT_ATTRIBUTE, "yes");
-
-                // Theme color
-                head.appendElement(META_TAG).attr("name", "theme-color")
-                        .attr(CONTENT_ATTRIBUTE, config.getThemeColor());
-                head.appendElement(META_TAG)
-                        .attr("name", "apple-mobile-web-app-status-bar-style")
-                        .attr(CONTENT_ATTRIBUTE, config.getThemeColor());
-
-                // Add manifest
-                head.appendElement("link").attr("rel", "manifest")
-                        .attr("href", config.getManifestPath());
-
-                // Add icons
-                for (PwaIcon icon : registry.getHeaderIcons()) {
-                    head.appendChild(icon.asElement());
-                }
+            // Add service worker initialization
+            head.appendElement(SCRIPT_TAG)
+                    .text("if ('serviceWorker' in navigator) {\n"
+                            + "  window.addEventListener('load', function() {\n"
+                            + "    navigator.serviceWorker.register('"
+                            + config.getServiceWorkerPath() + "');\n"
+                            + "  });\n" + "}");
 
-                // Add service worker initialization
-                head.appendElement(SCRIPT_TAG)
-                        .text("if ('serviceWorker' in navigator) {\n"
-                                + "  window.addEventListener('load', function() {\n"
-                                + "    navigator.serviceWorker.register('"
-                                + config.getServiceWorkerPath() + "');\n"
-                                + "  });\n" + "}");
-
-                // add body injections
-                if (registry.getPwaConfiguration().isInstallPromptEnabled()) {
-                    // PWA Install prompt html/js
-                    document.body().append(registry.getInstallPrompt());
-                }
+            List<Element> elements = new ArrayList<>(head.children());
+            elements.forEach(Element::remove);
+            return elements;
+        }
+
+        private List<Node> createPwaBodyNodes(PwaRegistry registry) {
+            if (registry == null
+                    || !registry.getPwaConfiguration().isEnabled()
+                    || !registry.getPwaConfiguration()
+                            .isInstallPromptEnabled()) {
+                return Collections.emptyList();
             }
+            // PWA Install prompt html/js
+            Element body = new Element(Tag.valueOf("body"), "");
+            body.append(registry.getInstallPrompt());
+            List<Node> nodes = new ArrayList<>(body.childNodes());
+            nodes.forEach(Node::remove);
+            return nodes;
         }
 
         private void appendWebComponentsPolyfills(Element head,
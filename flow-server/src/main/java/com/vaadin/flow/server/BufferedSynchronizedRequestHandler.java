@@ -0,0 +1,139 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Optional;
+
+import com.vaadin.flow.internal.RequestBodyUtil;
+
+/**
+ * A {@link SynchronizedRequestHandler} which reads the request body before the
+ * session is locked and writes the response only after the session has been
+ * unlocked, so that slow network transfers do not block other requests for
+ * the same session.
+ * <p>
+ * Pending pushes are sent when the session is unlocked. If any UI in the
+ * session has a push connection, the response is therefore written before the
+ * session is unlocked so that no push can reach the client ahead of it.
+ * <p>
+ * This is used for UIDL requests, which have both a request body and a
+ * response body that can be large. Heartbeat requests have neither, and push
+ * messages are read and written by the push framework outside of the request
+ * handlers, so they keep holding the session lock for the whole request.
+ *
+ * @author Vaadin Ltd
+ * @since 2.1
+ */
+public abstract class BufferedSynchronizedRequestHandler
+        extends SynchronizedRequestHandler {
+
+    /**
+     * Writes a response that has been prepared while the session was locked.
+     * The writer is invoked after the session has been unlocked, so it must not
+     * access any session or UI state.
+     */
+    @FunctionalInterface
+    public interface ResponseWriter extends Serializable {
+        /**
+         * Writes the prepared response.
+         *
+         * @throws IOException
+         *             If an IO error occurred
+         */
+        void writeResponse() throws IOException;
+    }
+
+    @Override
+    public boolean handleRequest(VaadinSession session, VaadinRequest request,
+            VaadinResponse response) throws IOException {
+        if (!canHandleRequest(request)) {
+            return false;
+        }
+
+        String requestBody = RequestBodyUtil.readBody(request);
+
+        Optional<ResponseWriter> responseWriter;
+        session.lock();
+        try {
+            responseWriter = synchronizedHandleRequest(session, request,
+                    response, requestBody);
+            if (hasPushConnection(session)) {
+                // Unlocking may push changes, which must not overtake the
+                // response
+                return writeResponse(responseWriter);
+            }
+        } finally {
+            session.unlock();
+        }
+
+        return writeResponse(responseWriter);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Reads the request body and writes the response while the session is
+     * locked. Only used when this handler is invoked directly instead of
+     * through
+     * {@link #handleRequest(VaadinSession, VaadinRequest, VaadinResponse)}.
+     */
+    @Override
+    public boolean synchronizedHandleRequest(VaadinSession session,
+            VaadinRequest request, VaadinResponse response) throws IOException {
+        return writeResponse(synchronizedHandleRequest(session, request,
+                response, RequestBodyUtil.readBody(request)));
+    }
+
+    /**
+     * Identical to
+     * {@link #synchronizedHandleRequest(VaadinSession, VaadinRequest, VaadinResponse)}
+     * except that the request body has already been read and that the response
+     * is written by the returned writer once the session has been unlocked.
+     *
+     * @param session
+     *            The session for the request
+     * @param request
+     *            The request to handle
+     * @param response
+     *            The response object to which a response can be written.
+     * @param requestBody
+     *            The body of the request, already read from the request
+     * @return a writer for the response if the request was handled and no
+     *         further request handlers should be called, otherwise an empty
+     *         optional
+     * @throws IOException
+     *             If an IO error occurred
+     */
+    public abstract Optional<ResponseWriter> synchronizedHandleRequest(
+            VaadinSession session, VaadinRequest request,
+            VaadinResponse response, String requestBody) throws IOException;
+
+    private static boolean hasPushConnection(VaadinSession session) {
+        return session.getUIs().stream()
+                .anyMatch(ui -> ui.getInternals().getPushConnection() != null);
+    }
+
+    private static boolean writeResponse(
+            Optional<ResponseWriter> responseWriter) throws IOException {
+        if (responseWriter.isPresent()) {
+            responseWriter.get().writeResponse();
+            return true;
+        }
+        return false;
+    }
+}
@@ -68,6 +68,48 @@ public final class Constants implements Serializable {
     public static final String SERVLET_PARAMETER_SEND_URLS_AS_PARAMETERS = "sendUrlsAsParameters";
     public static final String SERVLET_PARAMETER_PUSH_SUSPEND_TIMEOUT_LONGPOLLING = "pushLongPollingSuspendTimeout";
 
+    /**
+     * Configuration name for the time in milliseconds during which
+     * asynchronous pushes are collected into a single push message. Push
+     * messages are sent immediately by default.
+     */
+    public static final String SERVLET_PARAMETER_PUSH_COALESCING_WINDOW = "pushCoalescingWindow";
+
+    /**
+     * Configuration name for the maximum total size in bytes of the static
+     * resources that are kept in memory by the static file server in
+     * production mode. The cache is disabled by default.
+     */
+    public static final String SERVLET_PARAMETER_STATIC_RESOURCE_CACHE_SIZE = "staticResourceCacheSize";
+
+    /**
+     * Configuration name for the flag that determines whether cached static
+     * resources without a pre-compressed <code>.gz</code> variant are
+     * compressed by the static file server. Disabled by default.
+     */
+    public static final String SERVLET_PARAMETER_COMPRESS_STATIC_RESOURCES = "compressStaticResources";
+
+    /**
+     * Configuration name for the minimum size in bytes of static resources
+     * that are compressed by the static file server.
+     */
+    public static final String SERVLET_PARAMETER_COMPRESSION_MIN_SIZE = "compressionMinSize";
+    public static final int COMPRESSION_MIN_SIZE_DEFAULT = 1024;
+
+    /**
+     * Configuration name for the comma separated list of MIME types of static
+     * resources that are compressed by the static file server.
+     */
+    public static final String SERVLET_PARAMETER_COMPRESSION_MIME_TYPES = "compressionMimeTypes";
+    public static final String COMPRESSION_MIME_TYPES_DEFAULT = "text/html,text/css,text/plain,text/javascript,application/javascript,application/json,image/svg+xml";
+
+    /**
+     * Configuration name for the interval in seconds at which inactive UIs and
+     * sessions are cleaned up in the background. By default the clean up is
+     * done at the end of every request.
+     */
+    public static final String SERVLET_PARAMETER_SESSION_CLEANUP_INTERVAL = "sessionCleanupInterval";
+
     public static final String SERVLET_PARAMETER_JSBUNDLE = "module.bundle";
     public static final String SERVLET_PARAMETER_POLYFILLS = "module.polyfills";
     public static final String POLYFILLS_DEFAULT_VALUE = "build/webcomponentsjs/webcomponents-loader.js";
@@ -79,6 +121,13 @@ public final class Constants implements Serializable {
      */
     public static final String SERVLET_PARAMETER_BROTLI = "brotli";
 
+    /**
+     * Configuration name for the number of state changes in a response from
+     * which on the changes are serialized to JSON in parallel. Parallel
+     * serialization is disabled by default.
+     */
+    public static final String SERVLET_PARAMETER_PARALLEL_CHANGE_ENCODING_THRESHOLD = "parallelChangeEncodingThreshold";
+
     /**
      * Configuration name for loading the ES5 adapters.
      */
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Stream resource that supports HTTP range and conditional requests, which
+ * allows browsers to resume interrupted downloads and to seek in media files.
+ * <p>
+ * The data is read from a seekable channel created by a
+ * {@link SeekableChannelFactory}. Since the channel is read without holding
+ * the Vaadin session lock, the factory must not access application data.
+ *
+ * @author Vaadin Ltd
+ * @since 2.1
+ */
+public class RangeStreamResource extends StreamResource {
+
+    private final SeekableChannelFactory channelFactory;
+
+    private static class FileChannelFactory implements SeekableChannelFactory {
+
+        private final File file;
+
+        private FileChannelFactory(File file) {
+            this.file = file;
+        }
+
+        @Override
+        public SeekableByteChannel createChannel() throws IOException {
+            return FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        }
+
+        @Override
+        public long getLastModified() {
+            long lastModified = file.lastModified();
+            // File.lastModified returns 0 if the file does not exist
+            return lastModified == 0 ? -1L : lastModified;
+        }
+    }
+
+    private static class ChannelWriter implements StreamResourceWriter {
+
+        private final SeekableChannelFactory channelFactory;
+
+        private ChannelWriter(SeekableChannelFactory channelFactory) {
+            this.channelFactory = channelFactory;
+        }
+
+        @Override
+        public void accept(OutputStream stream, VaadinSession session)
+                throws IOException {
+            try (InputStream input = Channels
+                    .newInputStream(channelFactory.createChannel())) {
+                byte[] buffer = new byte[8 * 1024];
+                int read;
+                while ((read = input.read(buffer)) >= 0) {
+                    stream.write(buffer, 0, read);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a range-capable resource with the given name for the data
+     * provided by the given channel factory.
+     * <p>
+     * {@code name} parameter value will be used in URI (generated when resource
+     * is registered) in a way that the {@code name} is the last segment of the
+     * path. So this is synthetic file name (not real one).
+     *
+     * @param name
+     *            resource file name. May not be null.
+     * @param channelFactory
+     *            factory for the data channels. May not be null.
+     */
+    public RangeStreamResource(String name,
+            SeekableChannelFactory channelFactory) {
+        super(name, new ChannelWriter(channelFactory));
+        assert channelFactory != null;
+        this.channelFactory = channelFactory;
+    }
+
+    /**
+     * Creates a range-capable resource with the given name for the contents
+     * of the given file.
+     *
+     * @param name
+     *            resource file name. May not be null.
+     * @param file
+     *            the file to serve. May not be null.
+     */
+    public RangeStreamResource(String name, File file) {
+        this(name, new FileChannelFactory(file));
+        assert file != null;
+    }
+
+    /**
+     * Gets the factory for the channels that provide the data of this
+     * resource.
+     *
+     * @return the channel factory, not <code>null</code>
+     */
+    public SeekableChannelFactory getChannelFactory() {
+        return channelFactory;
+    }
+}
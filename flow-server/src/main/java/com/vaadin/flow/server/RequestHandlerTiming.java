@@ -0,0 +1,78 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the requests handled by a service level {@link RequestHandler} and
+ * the time spent handling them. Collected when
+ * {@link com.vaadin.flow.function.DeploymentConfiguration#isRequestTiming()}
+ * is enabled.
+ *
+ * @author Vaadin Ltd
+ * @since 2.1
+ * @see VaadinService#getRequestHandlerTimings()
+ */
+public class RequestHandlerTiming implements Serializable {
+
+    private final Class<? extends RequestHandler> handlerType;
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder totalTime = new LongAdder();
+
+    /**
+     * Creates timing counters for a request handler.
+     *
+     * @param handlerType
+     *            the type of the request handler, not <code>null</code>
+     */
+    RequestHandlerTiming(Class<? extends RequestHandler> handlerType) {
+        this.handlerType = handlerType;
+    }
+
+    /**
+     * Gets the type of the request handler.
+     *
+     * @return the type of the request handler
+     */
+    public Class<? extends RequestHandler> getHandlerType() {
+        return handlerType;
+    }
+
+    /**
+     * Gets the number of requests handled by the request handler.
+     *
+     * @return the number of handled requests
+     */
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    /**
+     * Gets the total time spent handling requests by the request handler.
+     *
+     * @return the total handling time in nanoseconds
+     */
+    public long getTotalTime() {
+        return totalTime.sum();
+    }
+
+    void record(long nanos) {
+        requestCount.increment();
+        totalTime.add(nanos);
+    }
+}
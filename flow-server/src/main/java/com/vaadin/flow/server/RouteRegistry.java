@@ -17,6 +17,7 @@ package com.vaadin.flow.server;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 import com.vaadin.flow.component.Component;
@@ -28,6 +29,7 @@ import com.vaadin.flow.router.RouteData;
 import com.vaadin.flow.router.Router;
 import com.vaadin.flow.router.RouterLayout;
 import com.vaadin.flow.router.RoutesChangedListener;
+import com.vaadin.flow.router.internal.NavigationRouteTarget;
 import com.vaadin.flow.shared.Registration;
 
 /**
@@ -146,6 +148,44 @@ public interface RouteRegistry extends Serializable {
     Optional<Class<? extends Component>> getNavigationTarget(String pathString,
             List<String> segments);
 
+    /**
+     * Gets the navigation target for the given location path segments along
+     * with the route path it is registered for and the url parameters. Of
+     * all route paths that are a prefix of the segments, the longest one with
+     * a navigation target accepting the remaining segments is used.
+     * <p>
+     * The default implementation looks up each prefix of the segments using
+     * {@link #getNavigationTarget(String, List)}. Implementations are
+     * encouraged to override it with a more efficient lookup.
+     *
+     * @param segments
+     *            the path segments of the location, not {@code null}
+     * @return the navigation route target, or an empty optional if no
+     *         navigation target matches the segments
+     * @see Location#getSegments()
+     */
+    default Optional<NavigationRouteTarget> getNavigationRouteTarget(
+            List<String> segments) {
+        Objects.requireNonNull(segments, "segments must not be null.");
+        for (int depth = segments.size(); depth > 0; depth--) {
+            String path = String.join("/", segments.subList(0, depth));
+            List<String> remaining = segments.subList(depth,
+                    segments.size());
+            Optional<Class<? extends Component>> target = getNavigationTarget(
+                    path, remaining);
+            if (target.isPresent()) {
+                return Optional.of(new NavigationRouteTarget(path,
+                        target.get(), remaining));
+            }
+        }
+        if (!segments.isEmpty() && !segments.get(0).isEmpty()) {
+            return getNavigationTarget("", segments)
+                    .map(target -> new NavigationRouteTarget("", target,
+                            segments));
+        }
+        return Optional.empty();
+    }
+
     /**
      * Get the url string for given navigation target.
      * <p>
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * Creates seekable channels that provide the actual data of a
+ * {@link RangeStreamResource}.
+ * <p>
+ * Unlike {@link InputStreamFactory}, the channel is created and read without
+ * holding the Vaadin session lock, so the implementation must not access
+ * application or session data.
+ *
+ * @author Vaadin Ltd
+ * @since 2.1
+ */
+@FunctionalInterface
+public interface SeekableChannelFactory extends Serializable {
+
+    /**
+     * Opens a new channel for reading the resource data. The caller closes
+     * the channel.
+     * <p>
+     * If the returned channel is a {@link java.nio.channels.FileChannel}, the
+     * data is transferred using
+     * {@link java.nio.channels.FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}.
+     *
+     * @return a channel for reading the resource data, not <code>null</code>
+     * @throws IOException
+     *             if the channel cannot be opened
+     */
+    SeekableByteChannel createChannel() throws IOException;
+
+    /**
+     * Gets the time when the resource data was last modified. The time is
+     * used for conditional requests and for detecting whether a range
+     * request refers to the same version of the data as a previous request.
+     * <p>
+     * By default the modification time is unknown, which means that
+     * responses are not cached by browsers and interrupted downloads are
+     * restarted from the beginning if the data has changed in between.
+     *
+     * @return the last modification time in milliseconds since the epoch, or
+     *         a negative value if not known
+     */
+    default long getLastModified() {
+        return -1L;
+    }
+}
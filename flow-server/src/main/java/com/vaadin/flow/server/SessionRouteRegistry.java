@@ -16,6 +16,7 @@
 package com.vaadin.flow.server;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -31,6 +32,9 @@ import com.vaadin.flow.router.RoutesChangedEvent;
 import com.vaadin.flow.router.RoutesChangedListener;
 import com.vaadin.flow.router.internal.AbstractRouteRegistry;
 import com.vaadin.flow.router.internal.ConfiguredRoutes;
+import com.vaadin.flow.router.internal.NavigationRouteTarget;
+import com.vaadin.flow.router.internal.RouteSegmentTrie;
+import com.vaadin.flow.server.startup.ApplicationRouteRegistry;
 import com.vaadin.flow.shared.Registration;
 
 /**
@@ -167,6 +171,25 @@ public class SessionRouteRegistry extends AbstractRouteRegistry {
         return getParentRegistry().getNavigationTarget(pathString, segments);
     }
 
+    @Override
+    public Optional<NavigationRouteTarget> getNavigationRouteTarget(
+            List<String> segments) {
+        Objects.requireNonNull(segments, "segments must not be null.");
+        RouteRegistry parentRegistry = getParentRegistry();
+        if (!isNavigationTargetImplementedBy(SessionRouteRegistry.class)
+                || !(parentRegistry instanceof ApplicationRouteRegistry)
+                || !((ApplicationRouteRegistry) parentRegistry)
+                        .isNavigationTargetImplementedBy(
+                                ApplicationRouteRegistry.class)) {
+            // Resolve through the overridden methods
+            return super.getNavigationRouteTarget(segments);
+        }
+        return RouteSegmentTrie.find(segments,
+                Arrays.asList(getConfiguration().getRouteSegmentTrie(),
+                        ((AbstractRouteRegistry) parentRegistry)
+                                .getConfiguration().getRouteSegmentTrie()));
+    }
+
     @Override
     public Optional<String> getTargetUrl(
             Class<? extends Component> navigationTarget) {
@@ -16,7 +16,9 @@
 package com.vaadin.flow.server;
 
 import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.internal.CachedResource;
 import com.vaadin.flow.internal.ResponseWriter;
+import com.vaadin.flow.shared.ApplicationConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,6 +28,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.net.URLConnection;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import static com.vaadin.flow.server.Constants.VAADIN_BUILD_FILES_PATH;
@@ -52,8 +56,20 @@ public class StaticFileServer implements StaticFileHandler {
             .compile("^/frontend[-\\w/]*/webjars/");
     private final ResponseWriter responseWriter;
     private final VaadinServletService servletService;
+    private final StaticResourceCache resourceCache;
+    private final StaticResourceCompressor resourceCompressor;
+    // Whether a static resource exists for a request path, null if lookups
+    // are not cached
+    private final ConcurrentHashMap<String, Boolean> resourceLookups;
+    // Request paths of resources that cannot be kept in the resource cache,
+    // null if there is no resource cache
+    private final ConcurrentHashMap<String, Boolean> uncacheableResources;
     private DeploymentConfiguration deploymentConfiguration;
 
+    // Maximum number of request paths for which the outcome of the resource
+    // lookup is remembered in production mode
+    static final int RESOURCE_LOOKUP_CACHE_SIZE = 1000;
+
     /**
      * Constructs a file server.
      *
@@ -64,11 +80,36 @@ public class StaticFileServer implements StaticFileHandler {
         this.servletService = servletService;
         deploymentConfiguration = servletService.getDeploymentConfiguration();
         responseWriter = new ResponseWriter(deploymentConfiguration);
+
+        long cacheSize = deploymentConfiguration.getStaticResourceCacheSize();
+        if (deploymentConfiguration.isProductionMode() && cacheSize > 0) {
+            resourceCache = new StaticResourceCache(cacheSize);
+        } else {
+            resourceCache = null;
+        }
+        if (resourceCache != null && deploymentConfiguration
+                .isStaticResourceCompressionEnabled()) {
+            resourceCompressor = new StaticResourceCompressor(resourceCache,
+                    servletService::getStaticResourceCompressionExecutor,
+                    deploymentConfiguration);
+        } else {
+            resourceCompressor = null;
+        }
+        uncacheableResources = resourceCache != null ? new ConcurrentHashMap<>()
+                : null;
+        // Resources are not expected to appear or disappear in production,
+        // a redeployment creates a new file server
+        resourceLookups = deploymentConfiguration.isProductionMode()
+                ? new ConcurrentHashMap<>()
+                : null;
     }
 
     @Override
     public boolean isStaticResourceRequest(HttpServletRequest request) {
-        URL resource;
+        if (isUidlOrHeartbeatRequest(request)) {
+            // Never static, skip looking up the path from the servlet context
+            return false;
+        }
 
         String requestFilename = getRequestFilename(request);
         if (requestFilename.endsWith("/")) {
@@ -83,15 +124,54 @@ public class StaticFileServer implements StaticFileHandler {
             // We rather serve 404 than let it fall through
             return true;
         }
-        resource = servletService.getStaticResource(requestFilename);
+        if (isStaticResource(requestFilename)) {
+            return true;
+        }
 
-        if (resource == null && shouldFixIncorrectWebjarPaths()
+        if (shouldFixIncorrectWebjarPaths()
                 && isIncorrectWebjarPath(requestFilename)) {
             // Flow issue #4601
             return true;
         }
 
-        return resource != null;
+        return false;
+    }
+
+    private static boolean isUidlOrHeartbeatRequest(
+            HttpServletRequest request) {
+        String requestType = request
+                .getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER);
+        return ApplicationConstants.REQUEST_TYPE_UIDL.equals(requestType)
+                || ApplicationConstants.REQUEST_TYPE_HEARTBEAT
+                        .equals(requestType);
+    }
+
+    private boolean isStaticResource(String requestFilename) {
+        if (resourceLookups == null) {
+            return servletService.getStaticResource(requestFilename) != null;
+        }
+        Boolean found = resourceLookups.get(requestFilename);
+        if (found == null) {
+            found = servletService.getStaticResource(requestFilename) != null;
+            rememberLookup(resourceLookups, requestFilename, found);
+        }
+        return found;
+    }
+
+    private static void rememberLookup(
+            ConcurrentHashMap<String, Boolean> lookups, String requestFilename,
+            Boolean value) {
+        if (lookups.size() >= RESOURCE_LOOKUP_CACHE_SIZE) {
+            // Make room by evicting arbitrary paths, access order doesn't
+            // matter much for a lookup cache
+            Iterator<String> paths = lookups.keySet().iterator();
+            while (paths.hasNext()
+                    && lookups.size() >= RESOURCE_LOOKUP_CACHE_SIZE) {
+                paths.next();
+                paths.remove();
+            }
+        }
+        lookups.put(requestFilename, value);
     }
 
     @Override
@@ -99,6 +179,18 @@ public class StaticFileServer implements StaticFileHandler {
             HttpServletResponse response) throws IOException {
 
         String filenameWithPath = getRequestFilename(request);
+        if (resourceCache != null) {
+            CachedResource cachedResource = resourceCache
+                    .get(filenameWithPath);
+            if (cachedResource != null) {
+                compressInBackground(filenameWithPath, cachedResource,
+                        request);
+                writeCachedResource(filenameWithPath, cachedResource, request,
+                        response);
+                return true;
+            }
+        }
+
         URL resourceUrl = null;
         if (filenameWithPath.startsWith("/" + VAADIN_BUILD_FILES_PATH)
                 && isAllowedVAADINBuildUrl(filenameWithPath)) {
@@ -123,6 +215,27 @@ public class StaticFileServer implements StaticFileHandler {
 
         // There is a resource!
 
+        if (resourceCache != null
+                && !uncacheableResources.containsKey(filenameWithPath)) {
+            CachedResource cachedResource = responseWriter.readResourceContents(
+                    filenameWithPath, resourceUrl, request,
+                    resourceCache.getMaxResourceSize());
+            if (cachedResource == null) {
+                // Too large or of unknown size, don't check again for every
+                // request
+                rememberLookup(uncacheableResources, filenameWithPath,
+                        Boolean.TRUE);
+            } else {
+                if (resourceCache.put(filenameWithPath, cachedResource)) {
+                    compressInBackground(filenameWithPath, cachedResource,
+                            request);
+                }
+                writeCachedResource(filenameWithPath, cachedResource, request,
+                        response);
+                return true;
+            }
+        }
+
         // Intentionally writing cache headers also for 304 responses
         writeCacheHeaders(filenameWithPath, response);
 
@@ -139,6 +252,37 @@ public class StaticFileServer implements StaticFileHandler {
         return true;
     }
 
+    private void compressInBackground(String filenameWithPath,
+            CachedResource cachedResource, HttpServletRequest request) {
+        if (resourceCompressor != null) {
+            resourceCompressor.compressIfNeeded(filenameWithPath,
+                    cachedResource, request.getServletContext()
+                            .getMimeType(filenameWithPath));
+        }
+    }
+
+    private void writeCachedResource(String filenameWithPath,
+            CachedResource cachedResource, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        // Intentionally writing cache headers also for 304 responses
+        writeCacheHeaders(filenameWithPath, response);
+
+        long timestamp = cachedResource.getLastModified();
+        // Remove milliseconds like for resources that are not cached
+        timestamp = timestamp - timestamp % 1000;
+        response.setDateHeader("Last-Modified", timestamp);
+
+        // If-None-Match takes precedence over If-Modified-Since and is
+        // handled when writing the contents
+        if (request.getHeader("If-None-Match") == null
+                && browserHasNewestVersion(request, timestamp)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        responseWriter.writeResponseContents(filenameWithPath, cachedResource,
+                request, response);
+    }
+
     // When referring to webjar resources from application stylesheets (loaded
     // using @StyleSheet) using relative paths, the paths will be different in
     // development mode and in production mode. The reason is that in production
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import com.vaadin.flow.internal.CachedResource;
+
+/**
+ * Bounded in-memory cache of static resources served by
+ * {@link StaticFileServer}, keyed by the requested path.
+ * <p>
+ * When the total size of the cached resources would exceed the maximum size,
+ * the least recently used resources are evicted. Resources with uncompressed
+ * contents larger than a quarter of the maximum size are not cached at all so
+ * that a single resource cannot evict most of the cache. The compressed
+ * variants of a resource count towards the total size but not towards this
+ * limit, so that every resource read with {@link #getMaxResourceSize()} as the
+ * limit can also be cached.
+ *
+ * @author Vaadin Ltd
+ * @since 2.1
+ */
+class StaticResourceCache implements Serializable {
+
+    private final long maxSize;
+
+    private final LinkedHashMap<String, CachedResource> resources = new LinkedHashMap<>(
+            16, 0.75f, true);
+
+    private long size;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize
+     *            the maximum total size of the cached resources in bytes
+     */
+    StaticResourceCache(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets the maximum size of the uncompressed contents of a single resource
+     * that can be cached.
+     *
+     * @return the maximum size of the contents of a cached resource in bytes
+     */
+    long getMaxResourceSize() {
+        return maxSize / 4;
+    }
+
+    /**
+     * Gets the cached resource for the given path.
+     *
+     * @param path
+     *            the path of the resource
+     * @return the cached resource, or <code>null</code> if not cached
+     */
+    synchronized CachedResource get(String path) {
+        return resources.get(path);
+    }
+
+    /**
+     * Caches the given resource for the given path, evicting the least
+     * recently used resources if needed.
+     *
+     * @param path
+     *            the path of the resource
+     * @param resource
+     *            the resource to cache
+     * @return <code>true</code> if the resource was cached,
+     *         <code>false</code> if it is too large to be cached
+     */
+    synchronized boolean put(String path, CachedResource resource) {
+        if (resource.getContents().length > getMaxResourceSize()) {
+            return false;
+        }
+        long resourceSize = resource.getSize();
+
+        CachedResource previous = resources.put(path, resource);
+        if (previous != null) {
+            size -= previous.getSize();
+        }
+        size += resourceSize;
+
+        Iterator<CachedResource> leastRecentlyUsed = resources.values()
+                .iterator();
+        while (size > maxSize) {
+            size -= leastRecentlyUsed.next().getSize();
+            leastRecentlyUsed.remove();
+        }
+        return true;
+    }
+
+    /**
+     * Replaces the resource cached for the given path, but only if the
+     * currently cached resource is the expected one.
+     *
+     * @param path
+     *            the path of the resource
+     * @param expected
+     *            the resource that is expected to be cached for the path
+     * @param replacement
+     *            the resource to cache instead
+     * @return <code>true</code> if the resource was replaced,
+     *         <code>false</code> otherwise
+     */
+    synchronized boolean replace(String path, CachedResource expected,
+            CachedResource replacement) {
+        if (resources.get(path) != expected) {
+            return false;
+        }
+        return put(path, replacement);
+    }
+
+    /**
+     * Gets the total size of the cached resources.
+     *
+     * @return the size of the cached resources in bytes
+     */
+    synchronized long getSize() {
+        return size;
+    }
+}
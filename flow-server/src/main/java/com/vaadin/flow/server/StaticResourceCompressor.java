@@ -0,0 +1,194 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.function.SerializableSupplier;
+import com.vaadin.flow.internal.CachedResource;
+
+/**
+ * Compresses cached static resources that have no pre-compressed
+ * <code>.gz</code> variant.
+ * <p>
+ * Resources are compressed once, in the background, and the compressed
+ * variant is stored in the {@link StaticResourceCache} next to the
+ * uncompressed contents. Requests that arrive before the compression is done
+ * are served uncompressed.
+ *
+ * @author Vaadin Ltd
+ * @since 2.1
+ */
+class StaticResourceCompressor implements Serializable {
+
+    /**
+     * The maximum number of resources waiting to be compressed. Resources
+     * that don't fit are compressed when they are requested again.
+     */
+    private static final int MAX_PENDING_COMPRESSIONS = 100;
+
+    private final StaticResourceCache resourceCache;
+    private final SerializableSupplier<Executor> executorSupplier;
+    private final int minSize;
+    private final Set<String> mimeTypes = new HashSet<>();
+
+    /**
+     * Paths of resources that are being compressed or that did not get any
+     * smaller when compressed.
+     */
+    private final Set<String> compressedPaths = Collections
+            .newSetFromMap(new ConcurrentHashMap<>());
+
+    /**
+     * Creates a new compressor for the resources in the given cache.
+     *
+     * @param resourceCache
+     *            the cache to store the compressed resources in, not
+     *            <code>null</code>
+     * @param executorSupplier
+     *            supplier for the executor to compress the resources with,
+     *            not <code>null</code>
+     * @param configuration
+     *            the deployment configuration to read the minimum size and
+     *            the MIME types of the compressed resources from, not
+     *            <code>null</code>
+     */
+    StaticResourceCompressor(StaticResourceCache resourceCache,
+            SerializableSupplier<Executor> executorSupplier,
+            DeploymentConfiguration configuration) {
+        this.resourceCache = resourceCache;
+        this.executorSupplier = executorSupplier;
+        minSize = configuration.getStaticResourceCompressionMinSize();
+        for (String mimeType : configuration
+                .getStaticResourceCompressionMimeTypes()) {
+            if (!mimeType.isEmpty()) {
+                mimeTypes.add(mimeType.toLowerCase(Locale.ENGLISH));
+            }
+        }
+    }
+
+    /**
+     * Creates an executor for compressing resources in a dedicated background
+     * thread. Compressing large resources can take a while, so it is not done
+     * on the service's scheduled executor which runs short timer tasks. The
+     * thread is stopped when there is nothing to compress.
+     *
+     * @return a new compression executor, not <code>null</code>
+     */
+    static ExecutorService createExecutor() {
+        return new ThreadPoolExecutor(0, 1, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(MAX_PENDING_COMPRESSIONS),
+                runnable -> {
+                    Thread thread = new Thread(runnable,
+                            "Static resource compressor");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Compresses the given cached resource in the background if it should be
+     * compressed and it has not been compressed yet.
+     *
+     * @param path
+     *            the path of the resource in the cache
+     * @param resource
+     *            the cached resource
+     * @param mimeType
+     *            the MIME type of the resource, or <code>null</code> if not
+     *            known
+     */
+    void compressIfNeeded(String path, CachedResource resource,
+            String mimeType) {
+        if (resource.getGzipContents() != null
+                || resource.getContents().length < minSize
+                || !isCompressedType(mimeType) || !compressedPaths.add(path)) {
+            return;
+        }
+
+        try {
+            executorSupplier.get().execute(() -> compress(path, resource));
+        } catch (RejectedExecutionException e) {
+            // Too many pending compressions, try again on a later request
+            compressedPaths.remove(path);
+        }
+    }
+
+    private void compress(String path, CachedResource resource) {
+        byte[] gzipContents;
+        try {
+            gzipContents = gzip(resource.getContents());
+        } catch (IOException e) {
+            getLogger().debug("Unable to compress static resource {}", path,
+                    e);
+            return;
+        }
+
+        if (gzipContents.length >= resource.getContents().length) {
+            // Keep the path so that the resource is not compressed again
+            return;
+        }
+        resourceCache.replace(path, resource,
+                new CachedResource(resource.getContents(), gzipContents,
+                        resource.getBrotliContents(),
+                        resource.getLastModified()));
+        // Compress again if the resource is evicted and read again
+        compressedPaths.remove(path);
+    }
+
+    private boolean isCompressedType(String mimeType) {
+        if (mimeType == null) {
+            return false;
+        }
+        int parametersStart = mimeType.indexOf(';');
+        if (parametersStart >= 0) {
+            mimeType = mimeType.substring(0, parametersStart);
+        }
+        return mimeTypes.contains(mimeType.trim().toLowerCase(Locale.ENGLISH));
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(
+                data.length / 2);
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(
+                outputStream)) {
+            gzipStream.write(data);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(StaticResourceCompressor.class);
+    }
+}
@@ -22,6 +22,10 @@ import java.io.IOException;
  * automatically. The session is locked before
  * {@link #synchronizedHandleRequest(VaadinSession, VaadinRequest, VaadinResponse)}
  * is called and unlocked after it has completed.
+ * <p>
+ * Handlers that should read the request body before the session is locked and
+ * write the response after it has been unlocked can extend
+ * {@link BufferedSynchronizedRequestHandler} instead.
  *
  * @author Vaadin Ltd
  * @since 1.0
@@ -30,7 +30,9 @@ import com.vaadin.flow.internal.UsageStatistics;
 import com.vaadin.flow.router.Router;
 import com.vaadin.flow.server.ServletHelper.RequestType;
 import com.vaadin.flow.server.communication.AtmospherePushConnection;
+import com.vaadin.flow.server.communication.FaviconHandler;
 import com.vaadin.flow.server.communication.HeartbeatHandler;
+import com.vaadin.flow.server.communication.PushRequestHandler;
 import com.vaadin.flow.server.communication.PwaHandler;
 import com.vaadin.flow.server.communication.SessionRequestHandler;
 import com.vaadin.flow.server.communication.StreamRequestHandler;
@@ -65,8 +67,12 @@ import java.io.Serializable;
 import java.lang.reflect.Constructor;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -74,9 +80,14 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -146,6 +157,50 @@ public abstract class VaadinService implements Serializable {
 
     private static final String REQUEST_START_TIME_ATTRIBUTE = "requestStartTime";
 
+    /**
+     * Monitors guarding the creation of session locks. A monitor is selected
+     * based on the identity of the underlying HTTP session so that sessions
+     * which are created at the same time rarely contend for the same monitor.
+     */
+    private static final Object[] SESSION_LOCK_CREATION_MONITORS = new Object[256];
+
+    static {
+        for (int i = 0; i < SESSION_LOCK_CREATION_MONITORS.length; i++) {
+            SESSION_LOCK_CREATION_MONITORS[i] = new Object();
+        }
+    }
+
+    /**
+     * Built-in request handlers that handle all requests of a request type,
+     * and no other requests. Only exact types are listed since subclasses may
+     * override
+     * {@link RequestHandler#handleRequest(VaadinSession, VaadinRequest, VaadinResponse)}
+     * to handle other requests as well.
+     */
+    private static final Map<Class<?>, RequestType> DEDICATED_REQUEST_HANDLERS = new HashMap<>();
+
+    /**
+     * Built-in request handlers that only handle requests without a request
+     * type, such as requests for resources by path.
+     */
+    private static final Set<Class<?>> UNTYPED_REQUEST_HANDLERS = new HashSet<>();
+
+    static {
+        DEDICATED_REQUEST_HANDLERS.put(UidlRequestHandler.class,
+                RequestType.UIDL);
+        DEDICATED_REQUEST_HANDLERS.put(HeartbeatHandler.class,
+                RequestType.HEARTBEAT);
+        DEDICATED_REQUEST_HANDLERS.put(PushRequestHandler.class,
+                RequestType.PUSH);
+
+        UNTYPED_REQUEST_HANDLERS.add(BootstrapHandler.class);
+        UNTYPED_REQUEST_HANDLERS.add(FaviconHandler.class);
+        UNTYPED_REQUEST_HANDLERS.add(StreamRequestHandler.class);
+        UNTYPED_REQUEST_HANDLERS.add(PwaHandler.class);
+        UNTYPED_REQUEST_HANDLERS.add(WebComponentProvider.class);
+        UNTYPED_REQUEST_HANDLERS.add(WebComponentBootstrapHandler.class);
+    }
+
     /**
      * Should never be used directly, always use
      * {@link #getDeploymentConfiguration()}.
@@ -172,12 +227,35 @@ public abstract class VaadinService implements Serializable {
 
     private Iterable<RequestHandler> requestHandlers;
 
+    // Request handlers to try for each request type, in invocation order.
+    // Handlers dedicated to another request type are left out.
+    private Map<RequestType, List<RequestHandler>> typedRequestHandlers;
+
+    // Request handlers to try for requests without a known request type
+    private List<RequestHandler> untypedRequestHandlers;
+
+    private Map<RequestHandler, RequestHandlerTiming> requestHandlerTimings = Collections
+            .emptyMap();
+
     private Iterable<BootstrapListener> bootstrapListeners;
 
     private Iterable<DependencyFilter> dependencyFilters;
 
     private boolean atmosphereAvailable = checkAtmosphereSupport();
 
+    private transient volatile ScheduledExecutorService scheduledExecutor;
+
+    private transient volatile ExecutorService staticResourceCompressionExecutor;
+
+    // Sessions swept by the background clean up, null if sessions are
+    // cleaned up at the end of each request instead
+    private transient Set<VaadinSession> liveSessions;
+
+    // Runs the background session clean up, which may block on session locks
+    // and run slow listeners, so that it doesn't delay the tasks of the
+    // shared scheduled executor. Null if there is no background clean up.
+    private transient ScheduledExecutorService sessionCleanupExecutor;
+
     /**
      * Keeps track of whether a warning about missing push support has already
      * been logged. This is used to avoid spamming the log with the same message
@@ -274,6 +352,7 @@ public abstract class VaadinService implements Serializable {
             Collections.reverse(handlers);
 
             requestHandlers = Collections.unmodifiableCollection(handlers);
+            initRequestHandlerDispatch(handlers);
 
             dependencyFilters = Stream
                     .concat(instantiator.getDependencyFilters(
@@ -324,9 +403,115 @@ public abstract class VaadinService implements Serializable {
         htmlImportDependencyCacheClearRegistration = ReflectionCache
                 .addClearAllAction(htmlImportDependencyCache::clear);
 
+        int cleanupInterval = configuration.getSessionCleanupInterval();
+        if (cleanupInterval > 0) {
+            liveSessions = Collections.synchronizedSet(
+                    Collections.newSetFromMap(new WeakHashMap<>()));
+            sessionCleanupExecutor = Executors
+                    .newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable,
+                                "VaadinService session cleanup");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            sessionCleanupExecutor.scheduleWithFixedDelay(this::cleanupSessions,
+                    cleanupInterval, cleanupInterval, TimeUnit.SECONDS);
+        }
+
         initialized = true;
     }
 
+    private void initRequestHandlerDispatch(List<RequestHandler> handlers) {
+        Map<RequestHandler, RequestHandlerTiming> timings = new LinkedHashMap<>();
+        handlers.forEach(handler -> timings.put(handler,
+                new RequestHandlerTiming(handler.getClass())));
+        requestHandlerTimings = timings;
+
+        typedRequestHandlers = new EnumMap<>(RequestType.class);
+        for (RequestType type : RequestType.values()) {
+            typedRequestHandlers.put(type,
+                    filterRequestHandlers(handlers, type));
+        }
+        untypedRequestHandlers = filterRequestHandlers(handlers, null);
+    }
+
+    private static List<RequestHandler> filterRequestHandlers(
+            List<RequestHandler> handlers, RequestType requestType) {
+        boolean dedicatedHandlerFound = requestType != null && handlers
+                .stream().anyMatch(handler -> DEDICATED_REQUEST_HANDLERS
+                        .get(handler.getClass()) == requestType);
+
+        List<RequestHandler> filtered = new ArrayList<>(handlers.size());
+        for (RequestHandler handler : handlers) {
+            Class<?> handlerType = handler.getClass();
+            RequestType dedicatedType = DEDICATED_REQUEST_HANDLERS
+                    .get(handlerType);
+            if (dedicatedType != null && dedicatedType != requestType) {
+                continue;
+            }
+            if (dedicatedHandlerFound
+                    && UNTYPED_REQUEST_HANDLERS.contains(handlerType)) {
+                continue;
+            }
+            filtered.add(handler);
+            if (dedicatedHandlerFound && dedicatedType == requestType) {
+                // The dedicated handler handles every request of its type,
+                // the handlers after it are never invoked
+                break;
+            }
+        }
+        return filtered;
+    }
+
+    /**
+     * Gets the type of the given request, or <code>null</code> if the request
+     * has no known request type.
+     */
+    private static RequestType getRequestType(VaadinRequest request) {
+        String requestType = request
+                .getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER);
+        if (requestType != null) {
+            for (RequestType type : RequestType.values()) {
+                if (type.getIdentifier().equals(requestType)) {
+                    return type;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the request handlers that may handle requests of the given type,
+     * in the order they should be invoked. The handlers are the same as those
+     * from {@link #getRequestHandlers()}, without the built-in handlers that
+     * never handle requests of the given type. All handlers are returned if
+     * {@link #getRequestHandlers()} is overridden to return other handlers.
+     */
+    Iterable<RequestHandler> getRequestHandlers(RequestType requestType) {
+        Iterable<RequestHandler> handlers = getRequestHandlers();
+        if (handlers != requestHandlers || typedRequestHandlers == null) {
+            return handlers;
+        }
+        if (requestType == null) {
+            return untypedRequestHandlers;
+        }
+        return typedRequestHandlers.get(requestType);
+    }
+
+    /**
+     * Gets the number of requests handled by each request handler registered
+     * with this service and the time spent handling them. Timings are only
+     * collected when {@link DeploymentConfiguration#isRequestTiming()} is
+     * enabled.
+     *
+     * @return an unmodifiable collection of request handler timings, in the
+     *         order the request handlers are invoked
+     */
+    public Collection<RequestHandlerTiming> getRequestHandlerTimings() {
+        return Collections
+                .unmodifiableCollection(requestHandlerTimings.values());
+    }
+
     /**
      * Find a route registry to use for this service.
      *
@@ -635,6 +820,9 @@ public abstract class VaadinService implements Serializable {
      */
     public void fireSessionDestroy(VaadinSession vaadinSession) {
         final VaadinSession session = vaadinSession;
+        if (liveSessions != null) {
+            liveSessions.remove(session);
+        }
         session.access(() -> {
             if (session.getState() == VaadinSessionState.CLOSED) {
                 return;
@@ -785,7 +973,7 @@ public abstract class VaadinService implements Serializable {
              * the CPU flushes its caches and reads the value directly from main
              * memory).
              */
-            synchronized (VaadinService.class) {
+            synchronized (getSessionLockCreationMonitor(wrappedSession)) {
                 lock = getSessionLock(wrappedSession);
                 if (lock == null) {
                     lock = new ReentrantLock();
@@ -807,6 +995,20 @@ public abstract class VaadinService implements Serializable {
         }
     }
 
+    static Object getSessionLockCreationMonitor(
+            WrappedSession wrappedSession) {
+        if (!(wrappedSession instanceof WrappedHttpSession)) {
+            // Wrappers may be created for every request and the session id may
+            // change, so there is nothing stable to select a monitor by
+            return SESSION_LOCK_CREATION_MONITORS[0];
+        }
+        int hash = System.identityHashCode(
+                ((WrappedHttpSession) wrappedSession).getHttpSession());
+        hash ^= hash >>> 16;
+        return SESSION_LOCK_CREATION_MONITORS[hash
+                & (SESSION_LOCK_CREATION_MONITORS.length - 1)];
+    }
+
     /**
      * Releases the lock for the given session for this service instance.
      * Typically you want to call {@link VaadinSession#unlock()} instead of this
@@ -1298,6 +1500,28 @@ public abstract class VaadinService implements Serializable {
         }
     }
 
+    /**
+     * Cleans up all sessions that have handled requests since they were last
+     * cleaned up. Run periodically in the background when
+     * {@link DeploymentConfiguration#getSessionCleanupInterval()} is set.
+     */
+    void cleanupSessions() {
+        List<VaadinSession> sessions;
+        synchronized (liveSessions) {
+            sessions = new ArrayList<>(liveSessions);
+            // Sessions handling new requests are added again
+            liveSessions.clear();
+        }
+        for (VaadinSession session : sessions) {
+            try {
+                session.access(() -> cleanupSession(session));
+            } catch (RuntimeException e) {
+                // Keep the scheduled clean up running for other sessions
+                getLogger().error("Failed to clean up session", e);
+            }
+        }
+    }
+
     /**
      * Removes those UIs from the given session for which {@link UI#isClosing()
      * isClosing} yields true.
@@ -1469,14 +1693,24 @@ public abstract class VaadinService implements Serializable {
             VaadinSession session) {
         if (session != null) {
             assert VaadinSession.getCurrent() == session;
-            session.lock();
-            try {
-                cleanupSession(session);
-                final long duration = (System.nanoTime() - (Long) request
-                        .getAttribute(REQUEST_START_TIME_ATTRIBUTE)) / 1000000;
-                session.setLastRequestDuration(duration);
-            } finally {
-                session.unlock();
+            if (liveSessions != null) {
+                // Cleaned up in the background, no need to wait for the lock
+                liveSessions.add(session);
+                session.recordRequestDuration((System.nanoTime()
+                        - (Long) request
+                                .getAttribute(REQUEST_START_TIME_ATTRIBUTE))
+                        / 1000000);
+            } else {
+                session.lock();
+                try {
+                    cleanupSession(session);
+                    final long duration = (System.nanoTime() - (Long) request
+                            .getAttribute(REQUEST_START_TIME_ATTRIBUTE))
+                            / 1000000;
+                    session.setLastRequestDuration(duration);
+                } finally {
+                    session.unlock();
+                }
             }
         }
         CurrentInstance.clearAll();
@@ -1536,8 +1770,22 @@ public abstract class VaadinService implements Serializable {
                 return;
             }
 
-            for (RequestHandler handler : getRequestHandlers()) {
-                if (handler.handleRequest(vaadinSession, request, response)) {
+            boolean timing = getDeploymentConfiguration().isRequestTiming();
+            for (RequestHandler handler : getRequestHandlers(
+                    getRequestType(request))) {
+                long start = timing ? System.nanoTime() : 0;
+                // Also counted as handled if the handler throws
+                boolean handled = true;
+                try {
+                    handled = handler.handleRequest(vaadinSession, request,
+                            response);
+                } finally {
+                    if (timing && handled) {
+                        recordRequestHandlerTiming(handler,
+                                System.nanoTime() - start);
+                    }
+                }
+                if (handled) {
                     return;
                 }
             }
@@ -1555,6 +1803,15 @@ public abstract class VaadinService implements Serializable {
         }
     }
 
+    private void recordRequestHandlerTiming(RequestHandler handler,
+            long nanos) {
+        RequestHandlerTiming handlerTiming = requestHandlerTimings
+                .get(handler);
+        if (handlerTiming != null) {
+            handlerTiming.record(nanos);
+        }
+    }
+
     private void handleExceptionDuringRequest(VaadinRequest request,
             VaadinResponse response, VaadinSession vaadinSession, Exception t)
             throws ServiceException {
@@ -2016,6 +2273,53 @@ public abstract class VaadinService implements Serializable {
         return () -> serviceDestroyListeners.remove(listener);
     }
 
+    /**
+     * Gets the executor used for running small background tasks of this
+     * service, such as sending push messages that have been delayed. The
+     * executor uses a single daemon thread which is started on first use and
+     * stopped when this service is destroyed. Tasks should be short and use
+     * {@link VaadinSession#access(Command)} for anything that needs the
+     * session lock.
+     *
+     * @return the scheduled executor of this service, not <code>null</code>
+     */
+    public ScheduledExecutorService getScheduledExecutor() {
+        if (scheduledExecutor == null) {
+            synchronized (this) {
+                if (scheduledExecutor == null) {
+                    scheduledExecutor = Executors
+                            .newSingleThreadScheduledExecutor(runnable -> {
+                                Thread thread = new Thread(runnable,
+                                        "VaadinService scheduler");
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+                }
+            }
+        }
+        return scheduledExecutor;
+    }
+
+    /**
+     * Gets the executor used for compressing cached static resources in the
+     * background. The executor is created on first use and stopped when this
+     * service is destroyed.
+     *
+     * @return the static resource compression executor of this service, not
+     *         <code>null</code>
+     */
+    Executor getStaticResourceCompressionExecutor() {
+        if (staticResourceCompressionExecutor == null) {
+            synchronized (this) {
+                if (staticResourceCompressionExecutor == null) {
+                    staticResourceCompressionExecutor = StaticResourceCompressor
+                            .createExecutor();
+                }
+            }
+        }
+        return staticResourceCompressionExecutor;
+    }
+
     /**
      * Called when the servlet or similar for this service is being destroyed.
      * After this method has been called, no more requests will be handled by
@@ -2027,6 +2331,18 @@ public abstract class VaadinService implements Serializable {
     public void destroy() {
         htmlImportDependencyCacheClearRegistration.remove();
 
+        synchronized (this) {
+            if (scheduledExecutor != null) {
+                scheduledExecutor.shutdownNow();
+            }
+            if (staticResourceCompressionExecutor != null) {
+                staticResourceCompressionExecutor.shutdownNow();
+            }
+            if (sessionCleanupExecutor != null) {
+                sessionCleanupExecutor.shutdownNow();
+            }
+        }
+
         ServiceDestroyEvent event = new ServiceDestroyEvent(this);
         serviceDestroyListeners
                 .forEach(listener -> listener.serviceDestroy(event));
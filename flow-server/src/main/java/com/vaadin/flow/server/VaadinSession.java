@@ -32,6 +32,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -98,9 +99,11 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
 
     protected WebBrowser browser = new WebBrowser();
 
-    private long cumulativeRequestDuration = 0;
+    // Updated without the session lock when sessions are cleaned up in the
+    // background
+    private final AtomicLong cumulativeRequestDuration = new AtomicLong();
 
-    private long lastRequestDuration = -1;
+    private volatile long lastRequestDuration = -1;
 
     private long lastRequestTimestamp = System.currentTimeMillis();
 
@@ -196,7 +199,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      */
     public long getCumulativeRequestDuration() {
         checkHasLock();
-        return cumulativeRequestDuration;
+        return cumulativeRequestDuration.get();
     }
 
     /**
@@ -208,8 +211,20 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      */
     public void setLastRequestDuration(long time) {
         checkHasLock();
+        recordRequestDuration(time);
+    }
+
+    /**
+     * Same as {@link #setLastRequestDuration(long)} but doesn't require the
+     * session to be locked, so that the end of a request doesn't have to wait
+     * for the lock.
+     *
+     * @param time
+     *            The time spent in the last request, in milliseconds.
+     */
+    void recordRequestDuration(long time) {
         lastRequestDuration = time;
-        cumulativeRequestDuration += time;
+        cumulativeRequestDuration.addAndGet(time);
     }
 
     /**
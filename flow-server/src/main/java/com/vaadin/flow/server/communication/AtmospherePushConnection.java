@@ -21,7 +21,9 @@ import java.io.ObjectInputStream;
 import java.io.Reader;
 import java.io.Serializable;
 import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -32,11 +34,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.UsageStatistics;
+import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.shared.communication.PushConstants;
 
-import elemental.json.JsonObject;
-
 /**
  * A {@link PushConnection} implementation using the Atmosphere push support
  * that is by default included in Vaadin.
@@ -51,6 +54,7 @@ public class AtmospherePushConnection implements PushConnection {
     private transient AtmosphereResource resource;
     private transient FragmentedMessage incomingMessage;
     private transient Future<Object> outgoingMessage;
+    private transient boolean pushScheduled;
 
     /**
      * Represents a message that can arrive as multiple fragments.
@@ -177,12 +181,28 @@ public class AtmospherePushConnection implements PushConnection {
      * Pushes pending state changes and client RPC calls to the client. If
      * {@code isConnected()} is false, defers the push until a connection is
      * established.
+     * <p>
+     * If a push coalescing window has been configured, an asynchronous push is
+     * sent only once the window has passed so that changes from several
+     * pushes in quick succession are sent in one message.
      *
      * @param async
      *            True if this push asynchronously originates from the server,
      *            false if it is a response to a client request.
+     * @see DeploymentConfiguration#getPushCoalescingWindow()
      */
     public void push(boolean async) {
+        if (async && isConnected()) {
+            int coalescingWindow = getPushCoalescingWindow();
+            if (coalescingWindow > 0) {
+                schedulePush(coalescingWindow);
+                return;
+            }
+        }
+        pushNow(async);
+    }
+
+    private void pushNow(boolean async) {
         if (!isConnected()) {
             if (async && state != State.RESPONSE_PENDING) {
                 state = State.PUSH_PENDING;
@@ -191,15 +211,64 @@ public class AtmospherePushConnection implements PushConnection {
             }
         } else {
             try {
-                JsonObject response = new UidlWriter().createUidl(getUI(),
-                        async);
-                sendMessage("for(;;);[" + response.toJson() + "]");
+                StringWriter response = new StringWriter();
+                response.write("for(;;);[");
+                new UidlWriter().writeUidl(getUI(), async, response);
+                response.write("]");
+                sendMessage(response.toString());
             } catch (Exception e) {
                 throw new RuntimeException("Push failed", e);
             }
         }
     }
 
+    /**
+     * Sends the pending changes of the UI after the given delay, unless such
+     * a push has already been scheduled. Changes made in the meantime remain
+     * pending in the UI and are included in the same message.
+     */
+    private void schedulePush(int delay) {
+        if (pushScheduled) {
+            return;
+        }
+        pushScheduled = true;
+
+        VaadinSession session = getUI().getSession();
+        try {
+            session.getService().getScheduledExecutor().schedule(() -> {
+                try {
+                    getUI().access(this::pushScheduledChanges);
+                } catch (UIDetachedException e) {
+                    getLogger().debug(
+                            "UI was detached before scheduled push was sent",
+                            e);
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // The service is being destroyed, don't leave the push pending
+            getLogger().debug("Could not schedule push, pushing immediately",
+                    e);
+            pushScheduled = false;
+            pushNow(true);
+        }
+    }
+
+    private void pushScheduledChanges() {
+        pushScheduled = false;
+        if (getUI().getInternals().isDirty()) {
+            pushNow(true);
+        }
+    }
+
+    private int getPushCoalescingWindow() {
+        VaadinSession session = getUI().getSession();
+        if (session == null) {
+            return 0;
+        }
+        return session.getService().getDeploymentConfiguration()
+                .getPushCoalescingWindow();
+    }
+
     /**
      * Sends the given message to the current client. Cannot be called if
      * {@link #isConnected()} returns false.
@@ -35,6 +35,7 @@ import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.internal.MessageDigestUtil;
+import com.vaadin.flow.internal.RequestBodyUtil;
 import com.vaadin.flow.server.ErrorEvent;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinService;
@@ -61,6 +62,8 @@ import elemental.json.impl.JsonUtil;
  */
 public class ServerRpcHandler implements Serializable {
 
+    private static final int MAX_HASHED_MESSAGE_LENGTH = 64 * 1024;
+
     /**
      * A data transfer object representing an RPC request sent by the client
      * side.
@@ -188,8 +191,6 @@ public class ServerRpcHandler implements Serializable {
 
     }
 
-    private static final int MAX_BUFFER_SIZE = 64 * 1024;
-
     /**
      * Exception thrown then the security key sent by the client does not match
      * the expected one.
@@ -226,9 +227,26 @@ public class ServerRpcHandler implements Serializable {
      */
     public void handleRpc(UI ui, Reader reader, VaadinRequest request)
             throws IOException, InvalidUIDLSecurityKeyException {
-        ui.getSession().setLastRequestTimestamp(System.currentTimeMillis());
+        handleRpc(ui, getMessage(reader), request);
+    }
 
-        String changeMessage = getMessage(reader);
+    /**
+     * Processes the JSON containing zero or more serialized RPC calls
+     * (including legacy variable changes) and executes the calls.
+     *
+     * @param ui
+     *            The {@link UI} receiving the calls. Cannot be null.
+     * @param changeMessage
+     *            The JSON message, already read from the request.
+     * @param request
+     *            The request through which the RPC was received
+     * @throws InvalidUIDLSecurityKeyException
+     *             If the received security key does not match the one stored in
+     *             the session.
+     */
+    public void handleRpc(UI ui, String changeMessage, VaadinRequest request)
+            throws InvalidUIDLSecurityKeyException {
+        ui.getSession().setLastRequestTimestamp(System.currentTimeMillis());
 
         if (changeMessage == null || changeMessage.equals("")) {
             // The client sometimes sends empty messages, this is probably a bug
@@ -243,11 +261,8 @@ public class ServerRpcHandler implements Serializable {
             throw new InvalidUIDLSecurityKeyException();
         }
 
-        String hashMessage = changeMessage;
-        if (hashMessage.length() > 64 * 1024) {
-            hashMessage = changeMessage.substring(0, 64 * 1024);
-        }
-        byte[] messageHash = MessageDigestUtil.sha256(hashMessage);
+        byte[] messageHash = MessageDigestUtil.sha256(changeMessage,
+                MAX_HASHED_MESSAGE_LENGTH);
 
         int expectedId = ui.getInternals().getLastProcessedClientToServerId()
                 + 1;
@@ -278,34 +293,28 @@ public class ServerRpcHandler implements Serializable {
             }
 
             /*
-             * If the reason for ending up here is intermittent, then we should
-             * just issue a full resync since we cannot know the state of the
-             * client engine.
-             *
-             * There are reasons to believe that there are deterministic issues
-             * that trigger this condition, and we'd like to collect more data
-             * to uncover anything such before actually implementing the resync
-             * that would thus hide most symptoms of the actual root cause bugs.
+             * We cannot know the state of the client engine, so skip the
+             * message and send the full state tree instead of making the
+             * client reload the page.
              */
             String messageStart = changeMessage;
             if (messageStart.length() > 1000) {
                 messageStart = messageStart.substring(0, 1000);
             }
-            throw new UnsupportedOperationException(
-                    message + " Expected sync id: " + expectedId + ", got "
-                            + requestId + ". Message start: " + messageStart);
+            getLogger().warn(
+                    "{} Expected sync id: {}, got {}. Resynchronizing the client. Message start: {}",
+                    message, expectedId, requestId, messageStart);
+            ui.getInternals().requestResynchronization();
         } else {
             // Message id ok, process RPCs
             ui.getInternals().setLastProcessedClientToServerId(expectedId,
                     messageHash);
             handleInvocations(ui, rpcRequest.getRpcInvocationsData());
-        }
 
-        if (rpcRequest.isResynchronize()) {
-            // FIXME Implement
-            throw new UnsupportedOperationException("FIXME: Implement resync");
+            if (rpcRequest.isResynchronize()) {
+                ui.getInternals().requestResynchronization();
+            }
         }
-
     }
 
     /**
@@ -385,19 +394,7 @@ public class ServerRpcHandler implements Serializable {
     }
 
     protected String getMessage(Reader reader) throws IOException {
-
-        StringBuilder sb = new StringBuilder(MAX_BUFFER_SIZE);
-        char[] buffer = new char[MAX_BUFFER_SIZE];
-
-        while (true) {
-            int read = reader.read(buffer);
-            if (read == -1) {
-                break;
-            }
-            sb.append(buffer, 0, read);
-        }
-
-        return sb.toString();
+        return RequestBodyUtil.readBody(reader);
     }
 
     private static Logger getLogger() {
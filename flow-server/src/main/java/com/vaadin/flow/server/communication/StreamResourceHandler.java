@@ -16,7 +16,11 @@
 package com.vaadin.flow.server.communication;
 
 import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletResponse;
 
+import com.vaadin.flow.internal.ResponseWriter;
+import com.vaadin.flow.server.RangeStreamResource;
+import com.vaadin.flow.server.SeekableChannelFactory;
 import com.vaadin.flow.server.StreamResource;
 import com.vaadin.flow.server.StreamResourceWriter;
 import com.vaadin.flow.server.VaadinRequest;
@@ -27,6 +31,11 @@ import com.vaadin.flow.server.VaadinSession;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
 
 /**
  * Handles {@link StreamResource} instances registered in {@link VaadinSession}.
@@ -37,6 +46,12 @@ import java.io.Serializable;
  */
 public class StreamResourceHandler implements Serializable {
 
+    private static final String BYTES_UNIT = "bytes=";
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private static final long[] UNSATISFIABLE_RANGE = new long[0];
+
     /**
      * Handle sending for a stream resource request.
      * 
@@ -57,6 +72,7 @@ public class StreamResourceHandler implements Serializable {
             throws IOException {
 
         StreamResourceWriter writer;
+        SeekableChannelFactory channelFactory = null;
         session.lock();
         try {
             ServletContext context = ((VaadinServletRequest) request)
@@ -69,12 +85,194 @@ public class StreamResourceHandler implements Serializable {
                 throw new IOException(
                         "Stream resource produces null input stream");
             }
+            if (streamResource instanceof RangeStreamResource) {
+                channelFactory = ((RangeStreamResource) streamResource)
+                        .getChannelFactory();
+            }
         } finally {
             session.unlock();
         }
+        if (channelFactory != null) {
+            handleRangeRequest(request, response, channelFactory);
+            return;
+        }
         try (OutputStream outputStream = response.getOutputStream()) {
             writer.accept(outputStream, session);
         }
     }
 
+    /**
+     * Sends the data of a {@link RangeStreamResource}, taking the range and
+     * conditional headers of the request into account. Only single byte
+     * ranges are supported, requests for multiple ranges get the full data.
+     */
+    private void handleRangeRequest(VaadinRequest request,
+            VaadinResponse response, SeekableChannelFactory channelFactory)
+            throws IOException {
+        try (SeekableByteChannel channel = channelFactory.createChannel()) {
+            long size = channel.size();
+            response.setHeader("Accept-Ranges", "bytes");
+
+            String eTag = null;
+            long lastModified = channelFactory.getLastModified();
+            if (lastModified >= 0) {
+                // HTTP dates have a precision of one second
+                lastModified -= lastModified % 1000;
+                eTag = '"' + Long.toHexString(lastModified) + '-'
+                        + Long.toHexString(size) + '"';
+                response.setHeader("ETag", eTag);
+                response.setDateHeader("Last-Modified", lastModified);
+                if (isNotModified(request, eTag, lastModified)) {
+                    response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                    return;
+                }
+            }
+
+            long start = 0;
+            long length = size;
+            String range = request.getHeader("Range");
+            if (range != null && matchesIfRange(request, eTag, lastModified)) {
+                long[] byteRange = parseByteRange(range, size);
+                if (byteRange == UNSATISFIABLE_RANGE) {
+                    response.setHeader("Content-Range", "bytes */" + size);
+                    response.setStatus(
+                            HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                if (byteRange != null) {
+                    start = byteRange[0];
+                    length = byteRange[1] - byteRange[0] + 1;
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader("Content-Range", "bytes " + start + '-'
+                            + byteRange[1] + '/' + size);
+                }
+            }
+
+            response.setHeader("Content-Length", Long.toString(length));
+            try (OutputStream outputStream = response.getOutputStream()) {
+                transfer(channel, start, length, outputStream);
+            }
+        }
+    }
+
+    private static boolean isNotModified(VaadinRequest request, String eTag,
+            long lastModified) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            // If-None-Match takes precedence over If-Modified-Since
+            return ResponseWriter.matchesETag(ifNoneMatch, eTag);
+        }
+        long ifModifiedSince = request.getDateHeader("If-Modified-Since");
+        return ifModifiedSince >= 0 && lastModified <= ifModifiedSince;
+    }
+
+    /**
+     * Checks whether a range request can be served as a partial response
+     * according to the <code>If-Range</code> header, which requires the
+     * validator to match exactly.
+     */
+    private static boolean matchesIfRange(VaadinRequest request, String eTag,
+            long lastModified) {
+        String ifRange = request.getHeader("If-Range");
+        if (ifRange == null) {
+            return true;
+        }
+        if (eTag == null) {
+            return false;
+        }
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // Weak entity tags never match
+            return ifRange.equals(eTag);
+        }
+        try {
+            return request.getDateHeader("If-Range") == lastModified;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Parses a <code>Range</code> header containing a single byte range.
+     *
+     * @return the first and last byte position of the range,
+     *         <code>null</code> if the header should be ignored or
+     *         {@link #UNSATISFIABLE_RANGE} if the range is outside the data
+     */
+    private static long[] parseByteRange(String range, long size) {
+        range = range.trim();
+        if (!range.startsWith(BYTES_UNIT) || range.indexOf(',') != -1) {
+            return null;
+        }
+        String spec = range.substring(BYTES_UNIT.length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash == -1) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // Suffix range for the last bytes of the data
+                long suffixLength = Long.parseLong(last);
+                if (suffixLength <= 0 || size == 0) {
+                    return UNSATISFIABLE_RANGE;
+                }
+                return new long[] { Math.max(0, size - suffixLength),
+                        size - 1 };
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? size - 1 : Long.parseLong(last);
+            if (start < 0 || end < start) {
+                return null;
+            }
+            if (start >= size) {
+                return UNSATISFIABLE_RANGE;
+            }
+            return new long[] { start, Math.min(end, size - 1) };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void transfer(SeekableByteChannel channel, long start,
+            long length, OutputStream outputStream) throws IOException {
+        WritableByteChannel target = Channels.newChannel(outputStream);
+        long position = start;
+        long remaining = length;
+        if (channel instanceof FileChannel) {
+            FileChannel fileChannel = (FileChannel) channel;
+            while (remaining > 0) {
+                long transferred = fileChannel.transferTo(position, remaining,
+                        target);
+                if (transferred <= 0) {
+                    // The file has been truncated
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+            return;
+        }
+
+        channel.position(position);
+        ByteBuffer buffer = ByteBuffer
+                .allocate((int) Math.min(BUFFER_SIZE, Math.max(1, remaining)));
+        while (remaining > 0) {
+            buffer.clear();
+            if (remaining < buffer.capacity()) {
+                buffer.limit((int) remaining);
+            }
+            int read = channel.read(buffer);
+            if (read < 0) {
+                break;
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+            remaining -= read;
+        }
+    }
+
 }
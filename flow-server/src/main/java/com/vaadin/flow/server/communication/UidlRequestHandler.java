@@ -18,19 +18,21 @@ package com.vaadin.flow.server.communication;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.StringWriter;
+import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.BufferedSynchronizedRequestHandler;
 import com.vaadin.flow.server.ServletHelper;
 import com.vaadin.flow.server.ServletHelper.RequestType;
 import com.vaadin.flow.server.SessionExpiredHandler;
-import com.vaadin.flow.server.SynchronizedRequestHandler;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
 import com.vaadin.flow.server.VaadinService;
@@ -39,7 +41,6 @@ import com.vaadin.flow.server.communication.ServerRpcHandler.InvalidUIDLSecurity
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.JsonException;
-import elemental.json.JsonObject;
 
 /**
  * Processes a UIDL request from the client.
@@ -51,7 +52,7 @@ import elemental.json.JsonObject;
  * @author Vaadin Ltd
  * @since 1.0
  */
-public class UidlRequestHandler extends SynchronizedRequestHandler
+public class UidlRequestHandler extends BufferedSynchronizedRequestHandler
         implements SessionExpiredHandler {
 
     private ServerRpcHandler rpcHandler;
@@ -71,53 +72,53 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
     }
 
     @Override
-    public boolean synchronizedHandleRequest(VaadinSession session,
-            VaadinRequest request, VaadinResponse response) throws IOException {
+    public Optional<ResponseWriter> synchronizedHandleRequest(
+            VaadinSession session, VaadinRequest request,
+            VaadinResponse response, String requestBody) throws IOException {
         UI uI = session.getService().findUI(request);
         if (uI == null) {
             // This should not happen but it will if the UI has been closed. We
             // really don't want to see it in the server logs though
-            commitJsonResponse(response, VaadinService.createUINotFoundJSON());
-            return true;
+            return Optional.of(() -> commitJsonResponse(response,
+                    VaadinService.createUINotFoundJSON()));
         }
 
-        StringWriter stringWriter = new StringWriter();
+        ByteArrayOutputStream uidl = new ByteArrayOutputStream();
 
         try {
-            getRpcHandler(session).handleRpc(uI, request.getReader(), request);
+            getRpcHandler(session).handleRpc(uI, requestBody, request);
 
-            writeUidl(uI, stringWriter);
+            writeUidl(uI, uidl);
         } catch (JsonException e) {
             getLogger().error("Error writing JSON to response", e);
             // Refresh on client side
-            writeRefresh(response);
-            return true;
+            return Optional.of(() -> writeRefresh(response));
         } catch (InvalidUIDLSecurityKeyException e) {
             getLogger().warn("Invalid security key received from {}",
                     request.getRemoteHost());
             // Refresh on client side
-            writeRefresh(response);
-            return true;
-        } finally {
-            stringWriter.close();
+            return Optional.of(() -> writeRefresh(response));
         }
 
-        commitJsonResponse(response, stringWriter.toString());
-        return true;
+        return Optional.of(() -> commitJsonResponse(response, uidl));
     }
 
-    private void writeRefresh(VaadinResponse response) throws IOException {
+    private static void writeRefresh(VaadinResponse response)
+            throws IOException {
         String json = VaadinService.createCriticalNotificationJSON(null, null,
                 null, null);
         commitJsonResponse(response, json);
     }
 
-    private static void writeUidl(UI ui, Writer writer) throws IOException {
-        JsonObject uidl = new UidlWriter().createUidl(ui, false);
+    private static void writeUidl(UI ui, OutputStream stream)
+            throws IOException {
+        Writer writer = new OutputStreamWriter(stream, UTF_8);
 
         // some dirt to prevent cross site scripting
-        String responseString = "for(;;);[" + uidl.toJson() + "]";
-        writer.write(responseString);
+        writer.write("for(;;);[");
+        new UidlWriter().writeUidl(ui, false, writer);
+        writer.write("]");
+        writer.flush();
     }
 
     private static final Logger getLogger() {
@@ -181,4 +182,30 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
         // NOTE GateIn requires the buffers to be flushed to work
         outputStream.flush();
     }
+
+    /**
+     * Commit the already UTF-8 encoded JSON response without copying it.
+     *
+     * @param response
+     *            The response to write to
+     * @param json
+     *            The UTF-8 encoded JSON to write
+     * @throws IOException
+     *             If there was an exception while writing to the output
+     */
+    private static void commitJsonResponse(VaadinResponse response,
+            ByteArrayOutputStream json) throws IOException {
+        response.setContentType(JsonConstants.JSON_CONTENT_TYPE);
+
+        // Ensure that the browser does not cache UIDL responses.
+        // iOS 6 Safari requires this (#9732)
+        response.setHeader("Cache-Control", "no-cache");
+
+        response.setContentLength(json.size());
+
+        OutputStream outputStream = response.getOutputStream();
+        json.writeTo(outputStream);
+        // NOTE GateIn requires the buffers to be flushed to work
+        outputStream.flush();
+    }
 }
@@ -19,17 +19,22 @@ package com.vaadin.flow.server.communication;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.commons.io.IOUtils;
@@ -43,12 +48,22 @@ import com.vaadin.flow.component.internal.DependencyList;
 import com.vaadin.flow.component.internal.PendingJavaScriptInvocation;
 import com.vaadin.flow.component.internal.UIInternals;
 import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.internal.ConstantPool;
+import com.vaadin.flow.internal.ConstantPoolKey;
 import com.vaadin.flow.internal.JsonCodec;
 import com.vaadin.flow.internal.JsonUtils;
+import com.vaadin.flow.internal.Pair;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.StateTree;
+import com.vaadin.flow.internal.change.EmptyChange;
+import com.vaadin.flow.internal.change.ListAddChange;
+import com.vaadin.flow.internal.change.ListClearChange;
+import com.vaadin.flow.internal.change.ListRemoveChange;
+import com.vaadin.flow.internal.change.MapPutChange;
+import com.vaadin.flow.internal.change.MapRemoveChange;
 import com.vaadin.flow.internal.change.NodeAttachChange;
 import com.vaadin.flow.internal.change.NodeChange;
+import com.vaadin.flow.internal.change.NodeDetachChange;
 import com.vaadin.flow.internal.nodefeature.ComponentMapping;
 import com.vaadin.flow.internal.nodefeature.ReturnChannelMap;
 import com.vaadin.flow.internal.nodefeature.ReturnChannelRegistration;
@@ -68,6 +83,7 @@ import elemental.json.Json;
 import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 import elemental.json.JsonValue;
+import elemental.json.impl.JsonUtil;
 
 /**
  * Serializes pending server-side changes to UI state to JSON. This includes
@@ -80,6 +96,12 @@ import elemental.json.JsonValue;
 public class UidlWriter implements Serializable {
     private static final String COULD_NOT_READ_URL_CONTENTS_ERROR_MESSAGE = "Could not read url %s contents";
 
+    private static final Set<Class<?>> PARALLEL_ENCODABLE_CHANGE_TYPES = new HashSet<>(
+            Arrays.asList(NodeAttachChange.class, NodeDetachChange.class,
+                    MapPutChange.class, MapRemoveChange.class,
+                    ListAddChange.class, ListRemoveChange.class,
+                    ListClearChange.class, EmptyChange.class));
+
     /**
      * Provides context information for the resolve operations.
      */
@@ -146,7 +168,64 @@ public class UidlWriter implements Serializable {
      */
     public JsonObject createUidl(UI ui, boolean async) {
         JsonObject response = Json.createObject();
+        JsonArray stateChanges = Json.createArray();
+
+        collectUidl(ui, async, new UidlOutput() {
+            @Override
+            public void put(String key, JsonValue value) {
+                response.put(key, value);
+            }
+
+            @Override
+            public void addChange(JsonValue change) {
+                stateChanges.set(stateChanges.length(), change);
+            }
+
+            @Override
+            public void endChanges() {
+                if (stateChanges.length() != 0) {
+                    response.put("changes", stateChanges);
+                }
+            }
+        });
+
+        return response;
+    }
 
+    /**
+     * Writes all pending changes to the given UI as a JSON object directly to
+     * the given writer.
+     * <p>
+     * The written content is equivalent to the JSON produced by
+     * {@link #createUidl(UI, boolean)}, except for the order of the keys. The
+     * state changes are serialized one at a time as they are collected instead
+     * of first being gathered into a JSON tree, which avoids holding the full
+     * response in memory several times for large responses.
+     *
+     * @param ui
+     *            The {@link UI} whose changes to write
+     * @param async
+     *            True if this message is sent by the server asynchronously,
+     *            false if it is a response to a client message.
+     * @param writer
+     *            the writer to write the UIDL response to, not
+     *            <code>null</code>
+     * @throws IOException
+     *             if writing to the writer fails
+     */
+    public void writeUidl(UI ui, boolean async, Writer writer)
+            throws IOException {
+        StreamingUidlOutput output = new StreamingUidlOutput(writer);
+        try {
+            writer.write('{');
+            collectUidl(ui, async, output);
+            writer.write('}');
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void collectUidl(UI ui, boolean async, UidlOutput output) {
         UIInternals uiInternals = ui.getInternals();
 
         VaadinSession session = ui.getSession();
@@ -162,11 +241,15 @@ public class UidlWriter implements Serializable {
         int syncId = service.getDeploymentConfiguration().isSyncIdCheckEnabled()
                 ? uiInternals.getServerSyncId() : -1;
 
-        response.put(ApplicationConstants.SERVER_SYNC_ID, syncId);
+        output.put(ApplicationConstants.SERVER_SYNC_ID, Json.create(syncId));
         int nextClientToServerMessageId = uiInternals
                 .getLastProcessedClientToServerId() + 1;
-        response.put(ApplicationConstants.CLIENT_TO_SERVER_ID,
-                nextClientToServerMessageId);
+        output.put(ApplicationConstants.CLIENT_TO_SERVER_ID,
+                Json.create(nextClientToServerMessageId));
+        if (uiInternals.dumpResynchronizationRequest()) {
+            output.put(ApplicationConstants.RESYNCHRONIZE_ID,
+                    Json.create(true));
+        }
 
         SystemMessages messages = ui.getSession().getService()
                 .getSystemMessages(ui.getLocale(), null);
@@ -174,39 +257,34 @@ public class UidlWriter implements Serializable {
         JsonObject meta = new MetadataWriter().createMetadata(ui, false, async,
                 messages);
         if (meta.keys().length > 0) {
-            response.put("meta", meta);
+            output.put("meta", meta);
         }
 
-        JsonArray stateChanges = Json.createArray();
-
-        encodeChanges(ui, stateChanges);
+        encodeChanges(ui, output);
 
-        populateDependencies(response, uiInternals.getDependencyList(),
+        populateDependencies(output, uiInternals.getDependencyList(),
                 new ResolveContext(service, session.getBrowser(), null));
 
         if (uiInternals.getConstantPool().hasNewConstants()) {
-            response.put("constants",
+            output.put("constants",
                     uiInternals.getConstantPool().dumpConstants());
         }
-        if (stateChanges.length() != 0) {
-            response.put("changes", stateChanges);
-        }
+        output.endChanges();
 
         List<PendingJavaScriptInvocation> executeJavaScriptList = uiInternals
                 .dumpPendingJavaScriptInvocations();
         if (!executeJavaScriptList.isEmpty()) {
-            response.put(JsonConstants.UIDL_KEY_EXECUTE,
+            output.put(JsonConstants.UIDL_KEY_EXECUTE,
                     encodeExecuteJavaScriptList(executeJavaScriptList));
         }
         if (ui.getSession().getService().getDeploymentConfiguration()
                 .isRequestTiming()) {
-            response.put("timings", createPerformanceData(ui));
+            output.put("timings", createPerformanceData(ui));
         }
         uiInternals.incrementServerId();
-        return response;
     }
 
-    private static void populateDependencies(JsonObject response,
+    private static void populateDependencies(UidlOutput output,
             DependencyList dependencyList, ResolveContext context) {
         Collection<Dependency> pendingSendToClient = dependencyList
                 .getPendingSendToClient();
@@ -222,7 +300,7 @@ public class UidlWriter implements Serializable {
 
         if (!pendingSendToClient.isEmpty()) {
             groupDependenciesByLoadMode(pendingSendToClient, context)
-                    .forEach((loadMode, dependencies) -> response
+                    .forEach((loadMode, dependencies) -> output
                             .put(loadMode.name(), dependencies));
         }
         dependencyList.clearPendingSendToClient();
@@ -379,18 +457,32 @@ public class UidlWriter implements Serializable {
      * {@link StateTree#beforeClientResponse(com.vaadin.flow.internal.StateNode, com.vaadin.flow.function.SerializableConsumer)}
      * at evaluated before the changes are encoded.
      *
+     * <p>
+     * If the output accepts serialized changes and there are at least
+     * {@link com.vaadin.flow.function.DeploymentConfiguration#getParallelChangeEncodingThreshold()}
+     * changes, the changes are serialized in parallel and then passed to the
+     * output in order.
+     *
      * @param ui
      *            the UI
-     * @param stateChanges
-     *            a JSON array to put state changes into
+     * @param output
+     *            the output that receives the encoded state changes in order
      * @see StateTree#runExecutionsBeforeClientResponse()
      */
-    private void encodeChanges(UI ui, JsonArray stateChanges) {
+    private void encodeChanges(UI ui, UidlOutput output) {
         UIInternals uiInternals = ui.getInternals();
         StateTree stateTree = uiInternals.getStateTree();
+        ConstantPool constantPool = uiInternals.getConstantPool();
 
         stateTree.runExecutionsBeforeClientResponse();
 
+        int parallelThreshold = output.acceptsEncodedChanges()
+                ? ui.getSession().getService().getDeploymentConfiguration()
+                        .getParallelChangeEncodingThreshold()
+                : 0;
+        List<NodeChange> changes = parallelThreshold > 0 ? new ArrayList<>()
+                : null;
+
         Set<Class<? extends Component>> componentsWithDependencies = new LinkedHashSet<>();
         stateTree.collectChanges(change -> {
             if (attachesComponent(change)) {
@@ -399,15 +491,54 @@ public class UidlWriter implements Serializable {
                                 componentsWithDependencies, component));
             }
 
-            // Encode the actual change
-            stateChanges.set(stateChanges.length(),
-                    change.toJson(uiInternals.getConstantPool()));
+            if (changes != null) {
+                changes.add(change);
+            } else {
+                // Encode the actual change
+                output.addChange(change.toJson(constantPool));
+            }
         });
 
+        if (changes != null && changes.size() >= parallelThreshold && changes
+                .stream().allMatch(UidlWriter::canEncodeInParallel)) {
+            /*
+             * Collecting the changes has updated all node state, so encoding
+             * them only reads node ids and plain values. The session lock is
+             * held by this thread until the encoded changes have been joined,
+             * so nothing can modify the nodes meanwhile. The constants are
+             * registered afterwards by this thread, since the constant pool is
+             * not thread safe.
+             */
+            changes.parallelStream().map(UidlWriter::encodeChange)
+                    .collect(Collectors.toList()).forEach(encoded -> {
+                        encoded.getSecond().constants
+                                .forEach(constantPool::getConstantId);
+                        output.addEncodedChange(encoded.getFirst());
+                    });
+        } else if (changes != null) {
+            changes.forEach(
+                    change -> output.addChange(change.toJson(constantPool)));
+        }
+
         componentsWithDependencies
                 .forEach(uiInternals::addComponentDependencies);
     }
 
+    /**
+     * Checks whether the given change can be encoded by another thread. The
+     * built-in change types only encode node ids and plain values, so they do
+     * not depend on the current UI or session, or on holding the session lock.
+     */
+    private static boolean canEncodeInParallel(NodeChange change) {
+        return PARALLEL_ENCODABLE_CHANGE_TYPES.contains(change.getClass());
+    }
+
+    private static Pair<String, ConstantCollector> encodeChange(
+            NodeChange change) {
+        ConstantCollector constants = new ConstantCollector();
+        return new Pair<>(change.toJson(constants).toJson(), constants);
+    }
+
     private static boolean attachesComponent(NodeChange change) {
         return change instanceof NodeAttachChange
                 && change.getNode().hasFeature(ComponentMapping.class);
@@ -434,6 +565,127 @@ public class UidlWriter implements Serializable {
         return timings;
     }
 
+    /**
+     * Collects the constants referenced by a change instead of registering
+     * them, so that they can be registered later by the thread holding the
+     * session lock.
+     */
+    private static class ConstantCollector extends ConstantPool {
+        private final List<ConstantPoolKey> constants = new ArrayList<>(0);
+
+        @Override
+        public String getConstantId(ConstantPoolKey constant) {
+            constants.add(constant);
+            return constant.getId();
+        }
+    }
+
+    /**
+     * Receives the different parts of a UIDL response in the order they are
+     * produced.
+     */
+    private interface UidlOutput extends Serializable {
+        void put(String key, JsonValue value);
+
+        void addChange(JsonValue change);
+
+        void endChanges();
+
+        /**
+         * Checks whether this output can use changes which have already been
+         * serialized to JSON through {@link #addEncodedChange(String)} without
+         * parsing them again, which makes encoding them in parallel
+         * worthwhile.
+         */
+        default boolean acceptsEncodedChanges() {
+            return false;
+        }
+
+        /**
+         * Adds a change which has already been serialized to JSON. The default
+         * implementation parses the change and adds it through
+         * {@link #addChange(JsonValue)}.
+         */
+        default void addEncodedChange(String change) {
+            addChange(JsonUtil.parse(change));
+        }
+    }
+
+    /**
+     * Writes the parts of a UIDL response as JSON to a writer as soon as they
+     * are produced. State changes are written as the first key after the
+     * metadata, since they are collected before dependencies and constants.
+     */
+    private static class StreamingUidlOutput implements UidlOutput {
+        private final transient Writer writer;
+        private boolean hasKeys;
+        private boolean changesOpen;
+        private boolean changesClosed;
+
+        private StreamingUidlOutput(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void put(String key, JsonValue value) {
+            endChanges();
+            try {
+                writeKey(key);
+                writer.write(value.toJson());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void addChange(JsonValue change) {
+            addEncodedChange(change.toJson());
+        }
+
+        @Override
+        public boolean acceptsEncodedChanges() {
+            return true;
+        }
+
+        @Override
+        public void addEncodedChange(String change) {
+            assert !changesClosed : "Changes have already been written";
+            try {
+                if (changesOpen) {
+                    writer.write(',');
+                } else {
+                    writeKey("changes");
+                    writer.write('[');
+                    changesOpen = true;
+                }
+                writer.write(change);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void endChanges() {
+            if (changesOpen && !changesClosed) {
+                try {
+                    writer.write(']');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            changesClosed = changesOpen;
+        }
+
+        private void writeKey(String key) throws IOException {
+            if (hasKeys) {
+                writer.write(',');
+            }
+            hasKeys = true;
+            writer.write(JsonUtil.quote(key));
+            writer.write(':');
+        }
+    }
+
     private static final Logger getLogger() {
         return LoggerFactory.getLogger(UidlWriter.class.getName());
     }
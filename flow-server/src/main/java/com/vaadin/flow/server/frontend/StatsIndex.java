@@ -0,0 +1,185 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.vaadin.flow.component.polymertemplate.BundleParser;
+import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.server.VaadinContext;
+import com.vaadin.flow.server.VaadinService;
+
+import elemental.json.JsonObject;
+
+/**
+ * Index of the webpack statistics file (<code>stats.json</code>) shared by
+ * everything that reads it for a {@link VaadinService}.
+ * <p>
+ * In production mode the file never changes, so it is read at most once: the
+ * asset chunks are scanned from the beginning of the file when first needed
+ * and the whole file is parsed when the first module source is needed. Module
+ * sources are cached by name. In development mode the file is parsed again
+ * only when its hash changes.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since 2.1
+ */
+public class StatsIndex implements Serializable {
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private transient volatile String assetsByChunkName;
+
+    private transient volatile Statistics statistics;
+
+    /**
+     * Parsed statistics for one version of the stats file.
+     */
+    private static final class Statistics implements Serializable {
+        private final String contentHash;
+        private final JsonObject json;
+        private final Map<String, Optional<String>> sources = new ConcurrentHashMap<>();
+
+        private Statistics(String contentHash, JsonObject json) {
+            this.contentHash = contentHash;
+            this.json = json;
+        }
+
+        private String getHash() {
+            return json.hasKey("hash") ? json.getString("hash") : contentHash;
+        }
+
+        private String getSource(String fileName) {
+            return sources.computeIfAbsent(fileName,
+                    name -> Optional.ofNullable(
+                            BundleParser.getSourceFromStatistics(name, json)))
+                    .orElse(null);
+        }
+    }
+
+    /**
+     * Gets the statistics index of the given service.
+     *
+     * @param service
+     *            the Vaadin service, not <code>null</code>
+     * @return the statistics index of the service, not <code>null</code>
+     */
+    public static StatsIndex getInstance(VaadinService service) {
+        VaadinContext context = service.getContext();
+        StatsIndex index = null;
+        if (context != null) {
+            index = context.getAttribute(StatsIndex.class, StatsIndex::new);
+        }
+        // Nothing is shared if the context cannot store the index
+        return index != null ? index : new StatsIndex();
+    }
+
+    /**
+     * Gets the <code>assetsByChunkName</code> object of the statistics file
+     * as a JSON string.
+     *
+     * @param service
+     *            the Vaadin service
+     * @return JSON for the assetsByChunkName object, or <code>null</code> if
+     *         it is not found
+     * @throws IOException
+     *             if reading the statistics fails
+     * @see FrontendUtils#getStatsAssetsByChunkName(VaadinService)
+     */
+    public String getAssetsByChunkName(VaadinService service)
+            throws IOException {
+        if (!service.getDeploymentConfiguration().isProductionMode()) {
+            return FrontendUtils.getStatsAssetsByChunkName(service);
+        }
+        String assets = assetsByChunkName;
+        if (assets == null) {
+            assets = FrontendUtils.getStatsAssetsByChunkName(service);
+            assetsByChunkName = assets;
+        }
+        return assets;
+    }
+
+    /**
+     * Gets the source of the module with the given file name from the
+     * statistics file.
+     *
+     * @param service
+     *            the Vaadin service
+     * @param fileName
+     *            the file name of the module
+     * @return the source of the module, or <code>null</code> if it is not
+     *         found
+     * @throws IOException
+     *             if reading the statistics fails
+     */
+    public String getModuleSource(VaadinService service, String fileName)
+            throws IOException {
+        Statistics current = getStatistics(service);
+        return current == null ? null : current.getSource(fileName);
+    }
+
+    private Statistics getStatistics(VaadinService service)
+            throws IOException {
+        DeploymentConfiguration config = service.getDeploymentConfiguration();
+        Statistics current = statistics;
+        if (current != null && config.isProductionMode()) {
+            return current;
+        }
+
+        lock.lock();
+        try {
+            current = statistics;
+            if (config.isProductionMode()) {
+                if (current == null) {
+                    current = readStatistics(service, null);
+                }
+            } else if (config.enableDevServer()) {
+                String hash = FrontendUtils.getStatsHash(service);
+                if (current == null || !current.getHash().equals(hash)) {
+                    current = readStatistics(service, null);
+                }
+            } else {
+                // No way to know the hash without reading the file
+                current = readStatistics(service, current);
+            }
+            statistics = current;
+            return current;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Statistics readStatistics(VaadinService service,
+            Statistics previous) throws IOException {
+        String content = FrontendUtils.getStatsContent(service);
+        if (content == null) {
+            return null;
+        }
+        String hash = BundleParser.getHashFromStatistics(content);
+        if (previous != null && previous.contentHash.equals(hash)) {
+            return previous;
+        }
+        return new Statistics(hash,
+                BundleParser.parseJsonStatistics(content));
+    }
+}
@@ -40,6 +40,7 @@ import com.vaadin.flow.router.RouterLayout;
 import com.vaadin.flow.router.RoutesChangedEvent;
 import com.vaadin.flow.router.internal.AbstractRouteRegistry;
 import com.vaadin.flow.router.internal.ErrorTargetEntry;
+import com.vaadin.flow.router.internal.NavigationRouteTarget;
 import com.vaadin.flow.server.PWA;
 import com.vaadin.flow.server.RouteRegistry;
 import com.vaadin.flow.server.osgi.OSGiAccess;
@@ -304,6 +305,17 @@ public class ApplicationRouteRegistry extends AbstractRouteRegistry {
         return Optional.empty();
     }
 
+    @Override
+    public Optional<NavigationRouteTarget> getNavigationRouteTarget(
+            List<String> segments) {
+        Objects.requireNonNull(segments, "segments must not be null.");
+        if (!isNavigationTargetImplementedBy(ApplicationRouteRegistry.class)) {
+            // Resolve through the overridden method
+            return super.getNavigationRouteTarget(segments);
+        }
+        return getConfiguration().getRouteSegmentTrie().find(segments);
+    }
+
     /**
      * Check if there are registered navigation targets in the registry.
      *
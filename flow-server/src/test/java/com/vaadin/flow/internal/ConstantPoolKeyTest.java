@@ -0,0 +1,99 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+
+public class ConstantPoolKeyTest {
+
+    @Test
+    public void equalStructures_sameId() {
+        Assert.assertEquals(getId(createSettings("click", 1)),
+                getId(createSettings("click", 1)));
+    }
+
+    @Test
+    public void idHasFixedLength() {
+        Assert.assertEquals(12, getId(Json.createObject()).length());
+        Assert.assertEquals(12, getId(createSettings("click", 1)).length());
+    }
+
+    @Test
+    public void differentStructures_differentIds() {
+        JsonObject splitKey = Json.createObject();
+        splitKey.put("a", "bc");
+        JsonObject splitValue = Json.createObject();
+        splitValue.put("ab", "c");
+
+        JsonArray nested = Json.createArray();
+        nested.set(0, Json.createArray());
+        JsonArray flat = Json.createArray();
+        flat.set(0, Json.createNull());
+
+        assertDifferentIds(splitKey, splitValue);
+        assertDifferentIds(nested, flat);
+        assertDifferentIds(Json.create("1"), Json.create(1));
+        assertDifferentIds(Json.create(true), Json.create(false));
+        assertDifferentIds(Json.createObject(), Json.createArray());
+        assertDifferentIds(createSettings("click", 1),
+                createSettings("click", 2));
+        assertDifferentIds(createSettings("click", 1),
+                createSettings("change", 1));
+    }
+
+    @Test
+    public void export_valueExportedWithId() {
+        JsonObject settings = createSettings("click", 1);
+        ConstantPoolKey key = new ConstantPoolKey(settings);
+
+        JsonObject update = Json.createObject();
+        key.export(update);
+
+        Assert.assertEquals(settings.toJson(), update.get(key.getId()).toJson());
+    }
+
+    @Test(expected = AssertionError.class)
+    public void export_valueChangedAfterCreation_throws() {
+        JsonObject settings = createSettings("click", 1);
+        ConstantPoolKey key = new ConstantPoolKey(settings);
+
+        settings.put("debounce", 2);
+
+        key.export(Json.createObject());
+    }
+
+    private static JsonObject createSettings(String event, int debounce) {
+        JsonObject settings = Json.createObject();
+        settings.put("event.type", event);
+        settings.put("event.detail", false);
+        settings.put("debounce", debounce);
+        return settings;
+    }
+
+    private static String getId(JsonValue json) {
+        return new ConstantPoolKey(json).getId();
+    }
+
+    private static void assertDifferentIds(JsonValue json1, JsonValue json2) {
+        Assert.assertNotEquals(getId(json1), getId(json2));
+    }
+}
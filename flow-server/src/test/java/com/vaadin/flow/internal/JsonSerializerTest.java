@@ -15,6 +15,7 @@
  */
 package com.vaadin.flow.internal;
 
+import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -280,6 +281,43 @@ public class JsonSerializerTest {
         }
     }
 
+    public static class ObjectWithThrowingGetter {
+        public String getValue() {
+            throw new IllegalStateException("getter failed");
+        }
+    }
+
+    @Test
+    public void serializeObjectWithThrowingGetter_exceptionWrapped() {
+        try {
+            JsonSerializer.toJson(new ObjectWithThrowingGetter());
+            Assert.fail("Serialization should cause an exception");
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(
+                    e.getCause() instanceof InvocationTargetException);
+            Assert.assertTrue(e.getCause()
+                    .getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void serializeAndDeserializeRepeatedly_sameResults() {
+        for (int i = 0; i < 3; i++) {
+            ObjectWithSimpleTypes bean = new ObjectWithSimpleTypes();
+            bean.setStringProperty("value" + i);
+            bean.setIntProperty(i);
+
+            JsonObject json = (JsonObject) JsonSerializer.toJson(bean);
+            Assert.assertEquals("value" + i, json.getString("stringProperty"));
+
+            ObjectWithSimpleTypes deserialized = JsonSerializer
+                    .toObject(ObjectWithSimpleTypes.class, json);
+            Assert.assertEquals("value" + i,
+                    deserialized.getStringProperty());
+            Assert.assertEquals(i, deserialized.getIntProperty());
+        }
+    }
+
     @Test
     public void serializeBasicTypes_returnJsonBasicTypes() {
         JsonValue json = JsonSerializer.toJson("someString");
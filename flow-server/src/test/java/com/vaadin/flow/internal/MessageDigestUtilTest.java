@@ -0,0 +1,51 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MessageDigestUtilTest {
+
+    @Test
+    public void sha256WithMaxLength_shortString_sameAsWholeString() {
+        String string = "{\"csrfToken\":\"foo\",\"rpc\":[åäö]}";
+
+        Assert.assertArrayEquals(MessageDigestUtil.sha256(string),
+                MessageDigestUtil.sha256(string, 1000));
+    }
+
+    @Test
+    public void sha256WithMaxLength_longString_sameAsSubstring() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            builder.append((char) ('a' + i % 26));
+        }
+        String string = builder.toString();
+
+        Assert.assertArrayEquals(
+                MessageDigestUtil.sha256(string.substring(0, 1234)),
+                MessageDigestUtil.sha256(string, 1234));
+        Assert.assertArrayEquals(MessageDigestUtil.sha256(string),
+                MessageDigestUtil.sha256(string, string.length()));
+    }
+
+    @Test
+    public void sha256WithMaxLength_emptyString_sameAsWholeString() {
+        Assert.assertArrayEquals(MessageDigestUtil.sha256(""),
+                MessageDigestUtil.sha256("", 10));
+    }
+}
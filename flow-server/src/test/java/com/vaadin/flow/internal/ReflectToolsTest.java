@@ -69,6 +69,11 @@ public class ReflectToolsTest {
         }
     }
 
+    public abstract static class AbstractClass {
+        public AbstractClass() {
+        }
+    }
+
     public static class OkToCreate {
 
     }
@@ -161,6 +166,34 @@ public class ReflectToolsTest {
                 ConstructorThrowsExceptionClass.class);
     }
 
+    @Test
+    public void createConstructorThrowsExceptionClass_repeatedCreation_sameError() {
+        for (int i = 0; i < 3; i++) {
+            assertError(
+                    ReflectTools.CREATE_INSTANCE_FAILED_CONSTRUCTOR_THREW_EXCEPTION,
+                    ConstructorThrowsExceptionClass.class);
+        }
+    }
+
+    @Test
+    public void createAbstractClass() {
+        assertError(ReflectTools.CREATE_INSTANCE_FAILED, AbstractClass.class);
+    }
+
+    @Test
+    public void createPrivateStaticInnerClassPublicConstructor() {
+        assertError(ReflectTools.CREATE_INSTANCE_FAILED_ACCESS_EXCEPTION,
+                PrivateStaticInnerClassPublicConstructor.class);
+    }
+
+    @Test
+    public void createInstance_repeatedCreation_newInstances() {
+        OkToCreate first = ReflectTools.createInstance(OkToCreate.class);
+        OkToCreate second = ReflectTools.createInstance(OkToCreate.class);
+
+        Assert.assertNotSame(first, second);
+    }
+
     @Test
     public void localClass() {
         class LocalClass {
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.server.VaadinRequest;
+
+public class RequestBodyUtilTest {
+
+    private VaadinRequest request = Mockito.mock(VaadinRequest.class);
+
+    @Test
+    public void readBody_readsEverything() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            builder.append(i % 10);
+        }
+        String body = builder.toString();
+
+        Assert.assertEquals(body, RequestBodyUtil
+                .readBody(new StringReader(body)));
+    }
+
+    @Test
+    public void readBody_expectedLengthTooSmall_readsEverything()
+            throws IOException {
+        Assert.assertEquals("0123456789", RequestBodyUtil
+                .readBody(new StringReader("0123456789"), 3));
+    }
+
+    @Test
+    public void readBody_expectedLengthTooLarge_readsEverything()
+            throws IOException {
+        Assert.assertEquals("0123456789", RequestBodyUtil
+                .readBody(new StringReader("0123456789"), 100));
+    }
+
+    @Test
+    public void readBody_exactExpectedLength_readsEverything()
+            throws IOException {
+        Assert.assertEquals("0123456789", RequestBodyUtil
+                .readBody(new StringReader("0123456789"), 10));
+    }
+
+    @Test
+    public void readBody_emptyBody_returnsEmptyString()
+            throws IOException {
+        Assert.assertEquals("", RequestBodyUtil
+                .readBody(new StringReader(""), 10));
+        Assert.assertEquals("", RequestBodyUtil
+                .readBody(new StringReader(""), -1));
+    }
+
+    @Test
+    public void readBody_request_usesContentLength() throws IOException {
+        Mockito.when(request.getReader())
+                .thenReturn(new BufferedReader(new StringReader("body")));
+        Mockito.when(request.getContentLength()).thenReturn(4);
+
+        Assert.assertEquals("body",
+                RequestBodyUtil.readBody(request));
+        Mockito.verify(request).getContentLength();
+    }
+}
@@ -24,6 +24,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
@@ -281,6 +282,49 @@ public class StateTreeTest {
         Assert.assertEquals("foo", nodeChange.getValue());
     }
 
+    @Test
+    public void prepareForResync_attachedNodesReportedWithFullState() {
+        StateNode root = tree.getRootNode();
+        StateNode node = new StateNode(ElementData.class);
+
+        StateNodeTest.setParent(node, root);
+        node.getFeature(ElementData.class).setTag("foo");
+        collectChangesExceptChildrenAddRemove();
+
+        tree.prepareForResync();
+
+        List<NodeChange> changes = new ArrayList<>();
+        tree.collectChanges(changes::add);
+
+        Assert.assertTrue("Root children should be sent again",
+                changes.stream().filter(ListAddChange.class::isInstance)
+                        .map(ListAddChange.class::cast)
+                        .anyMatch(change -> change.getNode() == root
+                                && change.getNewItems().contains(node)));
+        Assert.assertTrue("Node should be sent as attached",
+                changes.stream().anyMatch(change -> change.getNode() == node
+                        && change instanceof NodeAttachChange));
+        Assert.assertTrue("Node tag should be sent again",
+                changes.stream().filter(MapPutChange.class::isInstance)
+                        .map(MapPutChange.class::cast)
+                        .anyMatch(change -> change.getNode() == node
+                                && "foo".equals(change.getValue())));
+    }
+
+    @Test
+    public void prepareForResync_detachedNodeNotReported() {
+        StateNode node = StateNodeTest.createEmptyNode();
+        StateNodeTest.setParent(node, tree.getRootNode());
+        collectChangesExceptChildrenAddRemove();
+
+        StateNodeTest.setParent(node, null);
+        tree.prepareForResync();
+
+        List<NodeChange> changes = collectChangesExceptChildrenAddRemove();
+
+        Assert.assertEquals(Collections.emptyList(), changes);
+    }
+
     private List<NodeChange> collectChangesExceptChildrenAddRemove() {
         List<NodeChange> changes = new ArrayList<>();
         tree.collectChanges(change -> {
@@ -540,6 +584,88 @@ public class StateTreeTest {
         Mockito.verify(node2).updateActiveState();
     }
 
+    @Test
+    public void collectChanges_nodeMarkedSeveralTimes_collectedOnce() {
+        AtomicInteger collectCount = new AtomicInteger();
+        StateNode node = new StateNode(ElementChildrenList.class) {
+            @Override
+            public void collectChanges(Consumer<NodeChange> collector) {
+                collectCount.incrementAndGet();
+                super.collectChanges(collector);
+            }
+        };
+        StateNodeTest.setParent(node, tree.getRootNode());
+
+        node.markAsDirty();
+        node.markAsDirty();
+
+        Assert.assertEquals(Arrays.asList(tree.getRootNode(), node),
+                new ArrayList<>(tree.collectDirtyNodes()));
+
+        tree.collectChanges(change -> {
+        });
+
+        Assert.assertEquals(1, collectCount.get());
+        Assert.assertFalse(tree.hasDirtyNodes());
+    }
+
+    @Test
+    public void collectChanges_nodeMovedToAnotherTree_notCollectedByOldTree() {
+        StateTree anotherTree = new StateTree(new UI().getInternals(),
+                ElementChildrenList.class);
+        StateNode node = StateNodeTest.createEmptyNode();
+        StateNodeTest.setParent(node, tree.getRootNode());
+
+        node.removeFromTree();
+        StateNodeTest.setParent(node, anotherTree.getRootNode());
+
+        Assert.assertFalse(tree.collectDirtyNodes().contains(node));
+        Assert.assertTrue(anotherTree.collectDirtyNodes().contains(node));
+
+        List<NodeChange> changes = new ArrayList<>();
+        tree.collectChanges(changes::add);
+        Assert.assertFalse(changes.stream()
+                .anyMatch(change -> change.getNode() == node));
+
+        anotherTree.collectChanges(changes::add);
+        Assert.assertTrue(changes.stream()
+                .anyMatch(change -> change.getNode() == node));
+    }
+
+    @Test
+    public void collectChanges_nodeThrows_remainingNodesStayDirty() {
+        AtomicBoolean fail = new AtomicBoolean();
+        StateNode node1 = new StateNode(ElementChildrenList.class) {
+            @Override
+            public void collectChanges(Consumer<NodeChange> collector) {
+                if (fail.get()) {
+                    throw new IllegalStateException();
+                }
+                super.collectChanges(collector);
+            }
+        };
+        StateNode node2 = StateNodeTest.createEmptyNode();
+        StateNodeTest.setParent(node1, tree.getRootNode());
+        StateNodeTest.setParent(node2, tree.getRootNode());
+        tree.collectChanges(change -> {
+        });
+
+        node1.markAsDirty();
+        node2.markAsDirty();
+        fail.set(true);
+
+        try {
+            tree.collectChanges(change -> {
+            });
+            Assert.fail("The exception should be propagated");
+        } catch (IllegalStateException expected) {
+            // Expected
+        }
+
+        Assert.assertEquals(Collections.singleton(node2),
+                tree.collectDirtyNodes());
+    }
+
     @Test
     public void collectChanges_parentIsInactive_childrenAreCollected() {
         StateNode node1 = new CollectableNode();
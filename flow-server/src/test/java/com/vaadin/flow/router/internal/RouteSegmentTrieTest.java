@@ -0,0 +1,191 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.router.internal;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.router.BeforeEvent;
+import com.vaadin.flow.router.HasUrlParameter;
+import com.vaadin.flow.router.Location;
+import com.vaadin.flow.router.WildcardParameter;
+
+public class RouteSegmentTrieTest {
+
+    @Test
+    public void find_longestMatchingRouteWins() {
+        RouteSegmentTrie trie = createTrie();
+
+        assertTarget(trie, "foo/bar", FooBarTarget.class, "foo/bar");
+        assertTarget(trie, "foo", FooTarget.class, "foo");
+        assertTarget(trie, "", RootTarget.class, "");
+    }
+
+    @Test
+    public void find_remainingSegmentsAreParameters() {
+        RouteSegmentTrie trie = createTrie();
+
+        NavigationRouteTarget target = assertTarget(trie, "foo/baz",
+                ParameterTarget.class, "foo");
+        Assert.assertEquals(Collections.singletonList("baz"),
+                target.getUrlParameters());
+
+        target = assertTarget(trie, "foo/bar/baz", ParameterTarget.class,
+                "foo/bar");
+        Assert.assertEquals(Collections.singletonList("baz"),
+                target.getUrlParameters());
+    }
+
+    @Test
+    public void find_noLongerMatch_rootWildcardGetsAllSegments() {
+        RouteSegmentTrie trie = createTrie();
+
+        NavigationRouteTarget target = assertTarget(trie, "unknown/a/b",
+                WildcardTarget.class, "");
+        Assert.assertEquals(Arrays.asList("unknown", "a", "b"),
+                target.getUrlParameters());
+    }
+
+    @Test
+    public void find_trailingSlash_notIncludedInParameters() {
+        RouteSegmentTrie trie = createTrie();
+
+        NavigationRouteTarget target = assertTarget(trie, "unknown/a/",
+                WildcardTarget.class, "");
+        Assert.assertEquals(Arrays.asList("unknown", "a"),
+                target.getUrlParameters());
+    }
+
+    @Test
+    public void find_regexCharactersInRoute_matchedLiterally() {
+        ConfigureRoutes routes = new ConfigureRoutes();
+        routes.setRoute("a.b", ParameterTarget.class);
+        RouteSegmentTrie trie = new ConfiguredRoutes(routes)
+                .getRouteSegmentTrie();
+
+        NavigationRouteTarget target = assertTarget(trie, "a.b/c",
+                ParameterTarget.class, "a.b");
+        Assert.assertEquals(Collections.singletonList("c"),
+                target.getUrlParameters());
+        Assert.assertFalse(trie.find(segments("axb/c")).isPresent());
+    }
+
+    @Test
+    public void find_multipleIndexes_firstIndexWinsForSamePath() {
+        ConfigureRoutes session = new ConfigureRoutes();
+        session.setRoute("foo", FooBarTarget.class);
+        session.setRoute("", RootTarget.class);
+        RouteSegmentTrie sessionTrie = new ConfiguredRoutes(session)
+                .getRouteSegmentTrie();
+
+        List<RouteSegmentTrie> indexes = Arrays.asList(sessionTrie,
+                createTrie());
+
+        Assert.assertEquals(FooBarTarget.class, RouteSegmentTrie
+                .find(segments("foo"), indexes).get().getTarget());
+        Assert.assertEquals(FooBarTarget.class, RouteSegmentTrie
+                .find(segments("foo/bar"), indexes).get().getTarget());
+        Assert.assertEquals(ParameterTarget.class, RouteSegmentTrie
+                .find(segments("foo/bar/baz"), indexes).get().getTarget());
+    }
+
+    @Test
+    public void find_noMatch_empty() {
+        ConfigureRoutes routes = new ConfigureRoutes();
+        routes.setRoute("foo", FooTarget.class);
+        RouteSegmentTrie trie = new ConfiguredRoutes(routes)
+                .getRouteSegmentTrie();
+
+        Assert.assertFalse(trie.find(segments("foo/bar")).isPresent());
+        Assert.assertFalse(trie.find(segments("bar")).isPresent());
+        Assert.assertFalse(trie.find(segments("")).isPresent());
+    }
+
+    @Test
+    public void mutableConfiguration_indexReflectsChanges() {
+        ConfigureRoutes routes = new ConfigureRoutes();
+        routes.setRoute("foo", FooTarget.class);
+        Assert.assertTrue(
+                routes.getRouteSegmentTrie().find(segments("foo")).isPresent());
+
+        routes.removeRoute("foo");
+        Assert.assertFalse(
+                routes.getRouteSegmentTrie().find(segments("foo")).isPresent());
+    }
+
+    private static RouteSegmentTrie createTrie() {
+        ConfigureRoutes routes = new ConfigureRoutes();
+        routes.setRoute("", RootTarget.class);
+        routes.setRoute("", WildcardTarget.class);
+        routes.setRoute("foo", FooTarget.class);
+        routes.setRoute("foo", ParameterTarget.class);
+        routes.setRoute("foo/bar", FooBarTarget.class);
+        routes.setRoute("foo/bar", ParameterTarget.class);
+        return new ConfiguredRoutes(routes).getRouteSegmentTrie();
+    }
+
+    private static NavigationRouteTarget assertTarget(RouteSegmentTrie trie,
+            String location, Class<? extends Component> expectedTarget,
+            String expectedPath) {
+        Optional<NavigationRouteTarget> target = trie
+                .find(segments(location));
+        Assert.assertTrue("No target found for " + location,
+                target.isPresent());
+        Assert.assertEquals(expectedTarget, target.get().getTarget());
+        Assert.assertEquals(expectedPath, target.get().getPath());
+        return target.get();
+    }
+
+    private static List<String> segments(String location) {
+        return new Location(location).getSegments();
+    }
+
+    @Tag("div")
+    public static class RootTarget extends Component {
+    }
+
+    @Tag("div")
+    public static class FooTarget extends Component {
+    }
+
+    @Tag("div")
+    public static class FooBarTarget extends Component {
+    }
+
+    @Tag("div")
+    public static class ParameterTarget extends Component
+            implements HasUrlParameter<String> {
+        @Override
+        public void setParameter(BeforeEvent event, String parameter) {
+        }
+    }
+
+    @Tag("div")
+    public static class WildcardTarget extends Component
+            implements HasUrlParameter<String> {
+        @Override
+        public void setParameter(BeforeEvent event,
+                @WildcardParameter String parameter) {
+        }
+    }
+}
@@ -13,7 +13,9 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 import org.apache.commons.io.IOUtils;
 import org.hamcrest.CoreMatchers;
@@ -1683,6 +1685,51 @@ public class BootstrapHandlerTest {
                 session, testUI, this::contextRootRelativePath));
     }
 
+    @Test
+    public void productionMode_statsReadOnce_scriptsCopiedToEachPage() {
+        mocks.setProductionMode(true);
+        AtomicInteger statsReads = countStatsReads();
+
+        Element firstHead = initTestUI();
+        List<String> firstScripts = getModuleScriptSources(firstHead);
+        Assert.assertFalse(firstScripts.isEmpty());
+        firstHead.getElementsByAttributeValue("type", "module")
+                .forEach(script -> script.attr("src", "modified.js"));
+
+        Element secondHead = createAnotherPageHead();
+        Assert.assertEquals(firstScripts, getModuleScriptSources(secondHead));
+        Assert.assertEquals(1, statsReads.get());
+    }
+
+    @Test
+    public void developmentMode_statsReadForEachPage() {
+        mocks.setProductionMode(false);
+        AtomicInteger statsReads = countStatsReads();
+
+        initTestUI();
+        createAnotherPageHead();
+        Assert.assertEquals(2, statsReads.get());
+    }
+
+    private AtomicInteger countStatsReads() {
+        AtomicInteger statsReads = new AtomicInteger();
+        service.setClassLoader(new ClassLoader(service.getClassLoader()) {
+            @Override
+            public InputStream getResourceAsStream(String name) {
+                if (name.endsWith("stats.json")) {
+                    statsReads.incrementAndGet();
+                }
+                return super.getResourceAsStream(name);
+            }
+        });
+        return statsReads;
+    }
+
+    private static List<String> getModuleScriptSources(Element head) {
+        return head.getElementsByAttributeValue("type", "module").stream()
+                .map(script -> script.attr("src")).collect(Collectors.toList());
+    }
+
     private void assertStringEquals(String message, String expected,
             String actual) {
         Assert.assertThat(message,
@@ -1691,8 +1738,12 @@ public class BootstrapHandlerTest {
     }
 
     private Element initTestUI() {
-        TestUI anotherUI = new TestUI();
         initUI(testUI);
+        return createAnotherPageHead();
+    }
+
+    private Element createAnotherPageHead() {
+        TestUI anotherUI = new TestUI();
         anotherUI.getInternals().setSession(session);
         VaadinServletRequest vaadinRequest = createVaadinRequest();
         anotherUI.doInit(vaadinRequest, 0);
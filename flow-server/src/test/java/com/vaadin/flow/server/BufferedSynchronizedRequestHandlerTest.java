@@ -0,0 +1,115 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.internal.UIInternals;
+import com.vaadin.flow.server.communication.PushConnection;
+
+public class BufferedSynchronizedRequestHandlerTest {
+
+    private VaadinSession session = Mockito.mock(VaadinSession.class);
+    private VaadinRequest request = Mockito.mock(VaadinRequest.class);
+    private VaadinResponse response = Mockito.mock(VaadinResponse.class);
+    private BufferedSynchronizedRequestHandler.ResponseWriter responseWriter = Mockito
+            .mock(BufferedSynchronizedRequestHandler.ResponseWriter.class);
+
+    private String receivedBody;
+
+    private class OutsideLockHandler
+            extends BufferedSynchronizedRequestHandler {
+
+        @Override
+        public Optional<ResponseWriter> synchronizedHandleRequest(
+                VaadinSession session, VaadinRequest request,
+                VaadinResponse response, String requestBody) {
+            receivedBody = requestBody;
+            session.checkHasLock();
+            return Optional.of(responseWriter);
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        Mockito.when(request.getReader())
+                .thenReturn(new BufferedReader(new StringReader("body")));
+    }
+
+    @Test
+    public void readAndWriteOutsideSessionLock_bodyReadBeforeLockAndResponseWrittenAfterUnlock()
+            throws IOException {
+        Assert.assertTrue(new OutsideLockHandler().handleRequest(session,
+                request, response));
+
+        Assert.assertEquals("body", receivedBody);
+
+        InOrder inOrder = Mockito.inOrder(request, session, responseWriter);
+        inOrder.verify(request).getReader();
+        inOrder.verify(session).lock();
+        inOrder.verify(session).checkHasLock();
+        inOrder.verify(session).unlock();
+        inOrder.verify(responseWriter).writeResponse();
+    }
+
+    @Test
+    public void pushConnection_responseWrittenBeforeUnlock()
+            throws IOException {
+        UIInternals internals = Mockito.mock(UIInternals.class);
+        Mockito.when(internals.getPushConnection())
+                .thenReturn(Mockito.mock(PushConnection.class));
+        UI ui = Mockito.mock(UI.class);
+        Mockito.when(ui.getInternals()).thenReturn(internals);
+        Mockito.when(session.getUIs())
+                .thenReturn(Collections.singletonList(ui));
+
+        Assert.assertTrue(new OutsideLockHandler().handleRequest(session,
+                request, response));
+
+        InOrder inOrder = Mockito.inOrder(request, session, responseWriter);
+        inOrder.verify(request).getReader();
+        inOrder.verify(session).lock();
+        inOrder.verify(session).checkHasLock();
+        inOrder.verify(responseWriter).writeResponse();
+        inOrder.verify(session).unlock();
+    }
+
+    @Test
+    public void synchronizedHandleRequest_bodyReadAndResponseWrittenWithinCall()
+            throws IOException {
+        Assert.assertTrue(new OutsideLockHandler()
+                .synchronizedHandleRequest(session, request, response));
+
+        Assert.assertEquals("body", receivedBody);
+
+        InOrder inOrder = Mockito.inOrder(request, session, responseWriter);
+        inOrder.verify(request).getReader();
+        inOrder.verify(session).checkHasLock();
+        inOrder.verify(responseWriter).writeResponse();
+        Mockito.verify(session, Mockito.never()).lock();
+    }
+}
@@ -93,6 +93,32 @@ public class SessionRouteRegistryTest {
         }
     }
 
+    @Test
+    public void getNavigationRouteTarget_parentNavigationTargetOverridden_overridingMethodUsed() {
+        ApplicationRouteRegistry overridingRegistry = new ApplicationRouteRegistry() {
+            @Override
+            public Optional<Class<? extends Component>> getNavigationTarget(
+                    String pathString, List<String> segments) {
+                if ("custom".equals(pathString) && segments.isEmpty()) {
+                    return Optional.of(Secondary.class);
+                }
+                return super.getNavigationTarget(pathString, segments);
+            }
+        };
+        Mockito.when(vaadinService.getRouteRegistry())
+                .thenReturn(overridingRegistry);
+
+        SessionRouteRegistry registry = getRegistry(session);
+        registry.setRoute("home", MyRoute.class, Collections.emptyList());
+
+        Assert.assertEquals(Secondary.class, registry
+                .getNavigationRouteTarget(Arrays.asList("custom")).get()
+                .getTarget());
+        Assert.assertEquals(MyRoute.class, registry
+                .getNavigationRouteTarget(Arrays.asList("home")).get()
+                .getTarget());
+    }
+
     @Test
     public void addSameClassForMultipleRoutes_removalOfRouteClassClearsRegisttry() {
         SessionRouteRegistry registry = getRegistry(session);
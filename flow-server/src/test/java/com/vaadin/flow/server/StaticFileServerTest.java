@@ -31,9 +31,12 @@ import java.net.URLStreamHandler;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -45,6 +48,7 @@ import org.mockito.Matchers;
 import org.mockito.Mockito;
 
 import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.shared.ApplicationConstants;
 
 import static com.vaadin.flow.server.Constants.POLYFILLS_DEFAULT_VALUE;
 import static com.vaadin.flow.server.Constants.SERVLET_PARAMETER_STATISTICS_JSON;
@@ -275,6 +279,66 @@ public class StaticFileServerTest implements Serializable {
         Assert.assertTrue(fileServer.isStaticResourceRequest(request));
     }
 
+    @Test
+    public void isResourceRequest_uidlRequest_resourceNotLookedUp()
+            throws Exception {
+        setupRequestURI("", "", "/file.png");
+        Mockito.when(request
+                .getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER))
+                .thenReturn(ApplicationConstants.REQUEST_TYPE_UIDL);
+        Mockito.when(servletService.getStaticResource("/file.png"))
+                .thenReturn(new URL("file:///file.png"));
+
+        Assert.assertFalse(fileServer.isStaticResourceRequest(request));
+        Mockito.verify(servletService, Mockito.never())
+                .getStaticResource(Mockito.anyString());
+    }
+
+    @Test
+    public void isResourceRequest_productionMode_lookupRemembered()
+            throws Exception {
+        setupRequestURI("", "", "/file.png");
+        Mockito.when(servletService.getStaticResource("/file.png"))
+                .thenReturn(new URL("file:///file.png"));
+
+        Assert.assertTrue(fileServer.isStaticResourceRequest(request));
+        Assert.assertTrue(fileServer.isStaticResourceRequest(request));
+
+        setupRequestURI("", "", "/missing.png");
+        Assert.assertFalse(fileServer.isStaticResourceRequest(request));
+        Assert.assertFalse(fileServer.isStaticResourceRequest(request));
+
+        Mockito.verify(servletService).getStaticResource("/file.png");
+        Mockito.verify(servletService).getStaticResource("/missing.png");
+    }
+
+    @Test
+    public void isResourceRequest_productionMode_lookupCacheFull_newPathRemembered()
+            throws Exception {
+        for (int i = 0; i <= StaticFileServer.RESOURCE_LOOKUP_CACHE_SIZE; i++) {
+            setupRequestURI("", "", "/missing" + i + ".png");
+            Assert.assertFalse(fileServer.isStaticResourceRequest(request));
+        }
+        String lastPath = "/missing"
+                + StaticFileServer.RESOURCE_LOOKUP_CACHE_SIZE + ".png";
+        Assert.assertFalse(fileServer.isStaticResourceRequest(request));
+
+        Mockito.verify(servletService).getStaticResource(lastPath);
+    }
+
+    @Test
+    public void isResourceRequest_developmentMode_lookupRepeated()
+            throws Exception {
+        Mockito.when(configuration.isProductionMode()).thenReturn(false);
+        fileServer = new OverrideableStaticFileServer(servletService);
+        setupRequestURI("", "", "/missing.png");
+
+        Assert.assertFalse(fileServer.isStaticResourceRequest(request));
+        Mockito.when(servletService.getStaticResource("/missing.png"))
+                .thenReturn(new URL("file:///missing.png"));
+        Assert.assertTrue(fileServer.isStaticResourceRequest(request));
+    }
+
     @Test
     public void isNotResourceRequest() throws Exception {
         setupRequestURI("", "", null);
@@ -716,4 +780,203 @@ public class StaticFileServerTest implements Serializable {
         Assert.assertEquals(HttpServletResponse.SC_NOT_FOUND,
                 responseCode.get());
     }
+
+    @Test
+    public void serveStaticResource_cacheEnabled_secondRequestServedFromCache()
+            throws IOException {
+        enableResourceCache(1000000);
+        setupRequestURI("", "/some", "/file.js");
+        byte[] fileData = "function() {eval('foo');};"
+                .getBytes(StandardCharsets.UTF_8);
+        Mockito.when(servletService.getStaticResource("/some/file.js"))
+                .thenReturn(createFileURLWithDataAndLength("/some/file.js",
+                        fileData));
+
+        CapturingServletOutputStream out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertArrayEquals(fileData, out.getOutput());
+        String eTag = headers.get("ETag");
+        Assert.assertNotNull(eTag);
+
+        out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertArrayEquals(fileData, out.getOutput());
+        Assert.assertEquals(eTag, headers.get("ETag"));
+        Assert.assertEquals(fileData.length, responseContentLength.get());
+
+        Mockito.verify(servletService, Mockito.times(1))
+                .getStaticResource("/some/file.js");
+    }
+
+    @Test
+    public void serveStaticResource_cacheEnabled_matchingETag_notModified()
+            throws IOException {
+        enableResourceCache(1000000);
+        setupRequestURI("", "/some", "/file.js");
+        byte[] fileData = "function() {eval('foo');};"
+                .getBytes(StandardCharsets.UTF_8);
+        Mockito.when(servletService.getStaticResource("/some/file.js"))
+                .thenReturn(createFileURLWithDataAndLength("/some/file.js",
+                        fileData));
+
+        CapturingServletOutputStream out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        String eTag = headers.get("ETag");
+
+        Mockito.when(request.getHeader("If-None-Match"))
+                .thenReturn("\"other\", W/" + eTag);
+        out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertEquals(0, out.getOutput().length);
+        Assert.assertEquals(HttpServletResponse.SC_NOT_MODIFIED,
+                responseCode.get());
+    }
+
+    @Test
+    public void serveStaticResource_cacheEnabled_gzippedVariantCached()
+            throws IOException {
+        enableResourceCache(1000000);
+        setupRequestURI("", "/some", "/file.js");
+        byte[] fileData = "function() {eval('foo');};"
+                .getBytes(StandardCharsets.UTF_8);
+        byte[] gzipData = "fake gzip".getBytes(StandardCharsets.UTF_8);
+        Mockito.when(servletService.getStaticResource("/some/file.js"))
+                .thenReturn(createFileURLWithDataAndLength("/some/file.js",
+                        fileData));
+        Mockito.when(servletContext.getResource("/some/file.js.gz"))
+                .thenReturn(createFileURLWithDataAndLength("/some/file.js.gz",
+                        gzipData));
+        Mockito.when(request.getHeader("Accept-Encoding"))
+                .thenReturn("gzip, deflate");
+
+        CapturingServletOutputStream out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertArrayEquals(gzipData, out.getOutput());
+        Assert.assertEquals("gzip", headers.get("Content-Encoding"));
+        Assert.assertEquals("Accept-Encoding", headers.get("Vary"));
+        String gzipETag = headers.get("ETag");
+
+        Mockito.when(request.getHeader("Accept-Encoding")).thenReturn(null);
+        headers.clear();
+        out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertArrayEquals(fileData, out.getOutput());
+        Assert.assertNull(headers.get("Content-Encoding"));
+        Assert.assertNotEquals(gzipETag, headers.get("ETag"));
+    }
+
+    @Test
+    public void serveStaticResource_cacheEnabled_largeResourceNotCached()
+            throws IOException {
+        enableResourceCache(40);
+        setupRequestURI("", "/some", "/file.js");
+        byte[] fileData = "function() {eval('foo');};"
+                .getBytes(StandardCharsets.UTF_8);
+        Mockito.when(servletService.getStaticResource("/some/file.js"))
+                .thenAnswer(invocation -> createFileURLWithDataAndLength(
+                        "/some/file.js", fileData));
+
+        for (int i = 0; i < 2; i++) {
+            CapturingServletOutputStream out = new CapturingServletOutputStream();
+            Mockito.when(response.getOutputStream()).thenReturn(out);
+            Assert.assertTrue(
+                    fileServer.serveStaticResource(request, response));
+            Assert.assertArrayEquals(fileData, out.getOutput());
+        }
+        Assert.assertNull(headers.get("ETag"));
+        Mockito.verify(servletService, Mockito.times(2))
+                .getStaticResource("/some/file.js");
+    }
+
+    @Test
+    public void serveStaticResource_cacheEnabled_largeResourceReadOnlyOnceForCaching()
+            throws IOException {
+        enableResourceCache(40);
+        setupRequestURI("", "/some", "/file.js");
+        byte[] fileData = "function() {eval('foo');};function() {eval('foo');};"
+                .getBytes(StandardCharsets.UTF_8);
+        List<URLConnection> connections = new ArrayList<>();
+        URL url = new URL("file", "", -1, "/some/file.js",
+                new URLStreamHandler() {
+                    @Override
+                    protected URLConnection openConnection(URL u)
+                            throws IOException {
+                        URLConnection connection = createFileURLWithDataAndLength(
+                                "/some/file.js", fileData).openConnection();
+                        connections.add(connection);
+                        return connection;
+                    }
+                });
+        Mockito.when(servletService.getStaticResource("/some/file.js"))
+                .thenReturn(url);
+
+        CapturingServletOutputStream out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertArrayEquals(fileData, out.getOutput());
+        int firstRequestConnections = connections.size();
+
+        out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertArrayEquals(fileData, out.getOutput());
+
+        // The size is checked without reading the contents, and only once
+        URLConnection cacheConnection = connections.get(0);
+        Mockito.verify(cacheConnection).getContentLengthLong();
+        Mockito.verify(cacheConnection, Mockito.never()).getLastModified();
+        Assert.assertEquals(firstRequestConnections - 1,
+                connections.size() - firstRequestConnections);
+    }
+
+    @Test
+    public void serveStaticResource_compressionEnabled_compressedForLaterRequests()
+            throws Exception {
+        Mockito.when(configuration.isStaticResourceCompressionEnabled())
+                .thenReturn(true);
+        Mockito.when(configuration.getStaticResourceCompressionMinSize())
+                .thenReturn(10);
+        Mockito.when(configuration.getStaticResourceCompressionMimeTypes())
+                .thenReturn(Arrays.asList("application/javascript"));
+        Mockito.when(servletContext.getMimeType("/some/file.js"))
+                .thenReturn("application/javascript");
+        Mockito.when(request.getHeader("Accept-Encoding")).thenReturn("gzip");
+        // Compress synchronously instead of in a background thread
+        Executor executor = Runnable::run;
+        Mockito.when(servletService.getStaticResourceCompressionExecutor())
+                .thenReturn(executor);
+        enableResourceCache(1000000);
+
+        setupRequestURI("", "/some", "/file.js");
+        byte[] fileData = "function() {eval('foo');};function() {eval('foo');};"
+                .getBytes(StandardCharsets.UTF_8);
+        Mockito.when(servletService.getStaticResource("/some/file.js"))
+                .thenReturn(createFileURLWithDataAndLength("/some/file.js",
+                        fileData));
+
+        CapturingServletOutputStream out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertArrayEquals(fileData, out.getOutput());
+        Assert.assertNull(headers.get("Content-Encoding"));
+
+        out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertEquals("gzip", headers.get("Content-Encoding"));
+        Assert.assertTrue(out.getOutput().length < fileData.length);
+        Mockito.verify(servletService, Mockito.never()).getScheduledExecutor();
+    }
+
+    private void enableResourceCache(long size) {
+        Mockito.when(configuration.getStaticResourceCacheSize())
+                .thenReturn(size);
+        fileServer = new OverrideableStaticFileServer(servletService);
+    }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.flow.internal.CachedResource;
+
+public class StaticResourceCacheTest {
+
+    private static CachedResource resource(int size) {
+        return new CachedResource(new byte[size], null, null, 0);
+    }
+
+    @Test
+    public void put_exceedsMaxSize_leastRecentlyUsedEvicted() {
+        StaticResourceCache cache = new StaticResourceCache(100);
+        CachedResource first = resource(25);
+        CachedResource second = resource(25);
+        cache.put("first", first);
+        cache.put("second", second);
+        cache.put("third", resource(25));
+        cache.put("fourth", resource(25));
+        Assert.assertEquals(100, cache.getSize());
+
+        // Make "first" the most recently used resource
+        Assert.assertSame(first, cache.get("first"));
+        cache.put("fifth", resource(10));
+
+        Assert.assertSame(first, cache.get("first"));
+        Assert.assertNull(cache.get("second"));
+        Assert.assertEquals(85, cache.getSize());
+    }
+
+    @Test
+    public void put_tooLargeResource_notCached() {
+        StaticResourceCache cache = new StaticResourceCache(100);
+        Assert.assertEquals(25, cache.getMaxResourceSize());
+        cache.put("large", resource(26));
+
+        Assert.assertNull(cache.get("large"));
+        Assert.assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void put_compressedVariantsExceedMaxResourceSize_cached() {
+        StaticResourceCache cache = new StaticResourceCache(100);
+        CachedResource resource = new CachedResource(new byte[25],
+                new byte[10], new byte[10], 0);
+        Assert.assertTrue(cache.put("path", resource));
+
+        Assert.assertSame(resource, cache.get("path"));
+        Assert.assertEquals(45, cache.getSize());
+    }
+
+    @Test
+    public void put_replacesResource_sizeUpdated() {
+        StaticResourceCache cache = new StaticResourceCache(100);
+        cache.put("path", resource(20));
+        CachedResource replacement = resource(10);
+        cache.put("path", replacement);
+
+        Assert.assertSame(replacement, cache.get("path"));
+        Assert.assertEquals(10, cache.getSize());
+    }
+
+    @Test
+    public void replace_expectedResourceCached_replaced() {
+        StaticResourceCache cache = new StaticResourceCache(100);
+        CachedResource original = resource(10);
+        cache.put("path", original);
+        CachedResource replacement = resource(20);
+
+        Assert.assertTrue(cache.replace("path", original, replacement));
+        Assert.assertSame(replacement, cache.get("path"));
+        Assert.assertEquals(20, cache.getSize());
+
+        Assert.assertFalse(cache.replace("path", original, resource(5)));
+        Assert.assertSame(replacement, cache.get("path"));
+        Assert.assertFalse(cache.replace("other", original, resource(5)));
+        Assert.assertNull(cache.get("other"));
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.internal.CachedResource;
+
+public class StaticResourceCompressorTest {
+
+    private StaticResourceCache cache = new StaticResourceCache(1000000);
+    private List<Runnable> tasks = new ArrayList<>();
+    private StaticResourceCompressor compressor;
+
+    @Before
+    public void setUp() {
+        compressor = new StaticResourceCompressor(cache, () -> tasks::add,
+                createConfiguration());
+    }
+
+    private static DeploymentConfiguration createConfiguration() {
+        DeploymentConfiguration configuration = Mockito
+                .mock(DeploymentConfiguration.class);
+        Mockito.when(configuration.getStaticResourceCompressionMinSize())
+                .thenReturn(100);
+        Mockito.when(configuration.getStaticResourceCompressionMimeTypes())
+                .thenReturn(Arrays.asList("text/css",
+                        "application/javascript"));
+        return configuration;
+    }
+
+    @Test
+    public void compressIfNeeded_compressedInBackground() throws IOException {
+        byte[] data = createCompressibleData(1000);
+        CachedResource resource = new CachedResource(data, null, null, 0);
+        cache.put("/file.js", resource);
+
+        compressor.compressIfNeeded("/file.js", resource,
+                "application/javascript; charset=UTF-8");
+        Assert.assertSame(resource, cache.get("/file.js"));
+        Assert.assertEquals(1, tasks.size());
+
+        tasks.get(0).run();
+        CachedResource compressed = cache.get("/file.js");
+        Assert.assertArrayEquals(data, compressed.getContents());
+        Assert.assertArrayEquals(data, gunzip(compressed.getGzipContents()));
+        Assert.assertEquals(resource.getETag(null), compressed.getETag(null));
+
+        compressor.compressIfNeeded("/file.js", compressed,
+                "application/javascript");
+        Assert.assertEquals(1, tasks.size());
+    }
+
+    @Test
+    public void compressIfNeeded_resourceOfMaxResourceSize_compressed() {
+        cache = new StaticResourceCache(4000);
+        compressor = new StaticResourceCompressor(cache, () -> tasks::add,
+                createConfiguration());
+        CachedResource resource = new CachedResource(
+                createCompressibleData(
+                        (int) cache.getMaxResourceSize()), null, null,
+                0);
+        Assert.assertTrue(cache.put("/file.js", resource));
+
+        compressor.compressIfNeeded("/file.js", resource,
+                "application/javascript");
+        tasks.get(0).run();
+
+        Assert.assertNotNull(cache.get("/file.js").getGzipContents());
+    }
+
+    @Test
+    public void compressIfNeeded_alreadyPending_notCompressedAgain() {
+        CachedResource resource = new CachedResource(
+                createCompressibleData(1000), null, null, 0);
+        cache.put("/file.css", resource);
+
+        compressor.compressIfNeeded("/file.css", resource, "text/css");
+        compressor.compressIfNeeded("/file.css", resource, "text/css");
+        Assert.assertEquals(1, tasks.size());
+    }
+
+    @Test
+    public void compressIfNeeded_tooSmallOrWrongType_notCompressed() {
+        compressor.compressIfNeeded("/small.js",
+                new CachedResource(createCompressibleData(99), null, null, 0),
+                "application/javascript");
+        compressor.compressIfNeeded("/image.png",
+                new CachedResource(createCompressibleData(1000), null, null,
+                        0),
+                "image/png");
+        compressor.compressIfNeeded("/unknown",
+                new CachedResource(createCompressibleData(1000), null, null,
+                        0),
+                null);
+        compressor.compressIfNeeded("/precompressed.js",
+                new CachedResource(createCompressibleData(1000), new byte[1],
+                        null, 0),
+                "application/javascript");
+
+        Assert.assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    public void compressIfNeeded_incompressible_notCompressedAgain() {
+        byte[] data = new byte[1000];
+        new Random(42).nextBytes(data);
+        CachedResource resource = new CachedResource(data, null, null, 0);
+        cache.put("/random.js", resource);
+
+        compressor.compressIfNeeded("/random.js", resource,
+                "application/javascript");
+        tasks.get(0).run();
+        Assert.assertSame(resource, cache.get("/random.js"));
+
+        compressor.compressIfNeeded("/random.js", resource,
+                "application/javascript");
+        Assert.assertEquals(1, tasks.size());
+    }
+
+    @Test
+    public void compressIfNeeded_resourceReplacedMeanwhile_replacementKept() {
+        CachedResource resource = new CachedResource(
+                createCompressibleData(1000), null, null, 0);
+        cache.put("/file.js", resource);
+        compressor.compressIfNeeded("/file.js", resource,
+                "application/javascript");
+
+        CachedResource replacement = new CachedResource(
+                createCompressibleData(500), null, null, 0);
+        cache.put("/file.js", replacement);
+        tasks.get(0).run();
+
+        Assert.assertSame(replacement, cache.get("/file.js"));
+        compressor.compressIfNeeded("/file.js", replacement,
+                "application/javascript");
+        Assert.assertEquals(2, tasks.size());
+    }
+
+    private static byte[] createCompressibleData(int length) {
+        StringBuilder builder = new StringBuilder();
+        while (builder.length() < length) {
+            builder.append("function() {eval('foo');};");
+        }
+        return builder.substring(0, length).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gunzip(byte[] data) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (GZIPInputStream inputStream = new GZIPInputStream(
+                new ByteArrayInputStream(data))) {
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+        }
+        return outputStream.toByteArray();
+    }
+}
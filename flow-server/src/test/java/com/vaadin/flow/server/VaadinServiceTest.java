@@ -25,12 +25,21 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.servlet.ServletConfig;
 import javax.servlet.ServletException;
+import javax.servlet.http.HttpSession;
 import javax.servlet.http.HttpSessionBindingEvent;
 
 import org.easymock.EasyMock;
@@ -43,7 +52,11 @@ import com.vaadin.flow.internal.CurrentInstance;
 import com.vaadin.flow.router.RouteConfiguration;
 import com.vaadin.flow.router.RouteData;
 import com.vaadin.flow.router.Router;
+import com.vaadin.flow.server.ServletHelper.RequestType;
+import com.vaadin.flow.server.communication.HeartbeatHandler;
+import com.vaadin.flow.server.communication.SessionRequestHandler;
 import com.vaadin.flow.server.communication.StreamRequestHandler;
+import com.vaadin.flow.server.communication.UidlRequestHandler;
 import com.vaadin.flow.server.startup.BundleDependencyFilter;
 import com.vaadin.flow.shared.ApplicationConstants;
 import com.vaadin.flow.theme.AbstractTheme;
@@ -329,6 +342,306 @@ public class VaadinServiceTest {
                 filters.get(2).getClass());
     }
 
+    @Test
+    public void requestEnd_sessionCleanupIntervalSet_sessionCleanedUpInBackground() {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                Constants.SERVLET_PARAMETER_SESSION_CLEANUP_INTERVAL, "3600");
+        MockVaadinServletService service = new MockVaadinServletService(
+                configuration);
+        service.init();
+        TestSessionDestroyListener listener = new TestSessionDestroyListener();
+        service.addSessionDestroyListener(listener);
+
+        AtomicInteger lockCount = new AtomicInteger();
+        AtomicInteger accessCount = new AtomicInteger();
+        // Without a wrapped session the session is no longer active
+        MockVaadinSession session = new MockVaadinSession(service) {
+            @Override
+            public void lock() {
+                lockCount.incrementAndGet();
+                super.lock();
+            }
+
+            @Override
+            public Future<Void> access(Command command) {
+                accessCount.incrementAndGet();
+                return super.access(command);
+            }
+        };
+        VaadinRequest request = EasyMock.createMock(VaadinRequest.class);
+        EasyMock.expect(request.getAttribute("requestStartTime"))
+                .andReturn(System.nanoTime());
+        EasyMock.replay(request);
+
+        VaadinSession.setCurrent(session);
+        service.requestEnd(request, null, session);
+
+        Assert.assertEquals("Session should not be closed during the request",
+                0, session.getCloseCount());
+        Assert.assertEquals("Session should not be locked at request end", 0,
+                lockCount.get());
+        Assert.assertEquals(0, accessCount.get());
+        session.lock();
+        try {
+            Assert.assertTrue(session.getLastRequestDuration() >= 0);
+        } finally {
+            session.unlock();
+        }
+
+        service.cleanupSessions();
+
+        Assert.assertEquals(1, session.getCloseCount());
+        Assert.assertEquals(1, listener.callCount);
+        int accessCountAfterCleanup = accessCount.get();
+
+        // Not cleaned up again without new requests
+        service.cleanupSessions();
+        Assert.assertEquals(accessCountAfterCleanup, accessCount.get());
+
+        service.destroy();
+    }
+
+    @Test
+    public void cleanupSessions_noNewRequests_activeSessionNotCleanedUpAgain() {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                Constants.SERVLET_PARAMETER_SESSION_CLEANUP_INTERVAL, "3600");
+        MockVaadinServletService service = new MockVaadinServletService(
+                configuration);
+        service.init();
+
+        AtomicInteger accessCount = new AtomicInteger();
+        WrappedSession wrappedSession = EasyMock
+                .createNiceMock(WrappedSession.class);
+        MockVaadinSession session = new MockVaadinSession(service) {
+            @Override
+            public WrappedSession getSession() {
+                return wrappedSession;
+            }
+
+            @Override
+            public Future<Void> access(Command command) {
+                accessCount.incrementAndGet();
+                return super.access(command);
+            }
+        };
+        VaadinRequest request = EasyMock.createMock(VaadinRequest.class);
+        EasyMock.expect(request.getAttribute("requestStartTime"))
+                .andReturn(System.nanoTime());
+        EasyMock.replay(request);
+
+        VaadinSession.setCurrent(session);
+        service.requestEnd(request, null, session);
+
+        service.cleanupSessions();
+        Assert.assertEquals(1, accessCount.get());
+        Assert.assertEquals(0, session.getCloseCount());
+
+        service.cleanupSessions();
+        Assert.assertEquals(1, accessCount.get());
+
+        service.destroy();
+    }
+
+    @Test
+    public void cleanupSessions_cleanupBlocked_scheduledExecutorNotBlocked()
+            throws Exception {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                Constants.SERVLET_PARAMETER_SESSION_CLEANUP_INTERVAL, "1");
+        MockVaadinServletService service = new MockVaadinServletService(
+                configuration);
+        service.init();
+
+        CountDownLatch cleanupStarted = new CountDownLatch(1);
+        CountDownLatch releaseCleanup = new CountDownLatch(1);
+        MockVaadinSession session = new MockVaadinSession(service) {
+            @Override
+            public Future<Void> access(Command command) {
+                cleanupStarted.countDown();
+                try {
+                    releaseCleanup.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            }
+        };
+        VaadinRequest request = EasyMock.createMock(VaadinRequest.class);
+        EasyMock.expect(request.getAttribute("requestStartTime"))
+                .andReturn(System.nanoTime());
+        EasyMock.replay(request);
+
+        VaadinSession.setCurrent(session);
+        service.requestEnd(request, null, session);
+
+        try {
+            Assert.assertTrue(cleanupStarted.await(5, TimeUnit.SECONDS));
+            service.getScheduledExecutor().submit(() -> {
+            }).get(5, TimeUnit.SECONDS);
+        } finally {
+            releaseCleanup.countDown();
+            service.destroy();
+        }
+    }
+
+    @Test
+    public void destroy_compressionExecutorUsed_executorShutDown() {
+        MockVaadinServletService service = new MockVaadinServletService();
+        service.init();
+
+        Executor executor = service.getStaticResourceCompressionExecutor();
+        Assert.assertSame(executor,
+                service.getStaticResourceCompressionExecutor());
+
+        service.destroy();
+
+        Assert.assertTrue(((ExecutorService) executor).isShutdown());
+    }
+
+    @Test
+    public void sessionLockCreationMonitor_sessionIdChanged_sameMonitorUsed() {
+        HttpSession httpSession = EasyMock.createMock(HttpSession.class);
+        EasyMock.expect(httpSession.getId()).andReturn("before-login")
+                .andReturn("after-login").anyTimes();
+        EasyMock.replay(httpSession);
+
+        Object monitor = VaadinService.getSessionLockCreationMonitor(
+                new WrappedHttpSession(httpSession));
+
+        Assert.assertSame(monitor, VaadinService.getSessionLockCreationMonitor(
+                new WrappedHttpSession(httpSession)));
+    }
+
+    @Test
+    public void requestHandlersForRequestType_otherTypeSpecificHandlersSkipped() {
+        VaadinService service = createService();
+
+        List<RequestHandler> heartbeatHandlers = collectRequestHandlers(
+                service, RequestType.HEARTBEAT);
+        Assert.assertTrue(heartbeatHandlers.stream()
+                .anyMatch(HeartbeatHandler.class::isInstance));
+        Assert.assertFalse(heartbeatHandlers.stream()
+                .anyMatch(UidlRequestHandler.class::isInstance));
+
+        List<RequestHandler> untypedHandlers = collectRequestHandlers(service,
+                null);
+        Assert.assertFalse(untypedHandlers.stream()
+                .anyMatch(HeartbeatHandler.class::isInstance));
+        Assert.assertFalse(untypedHandlers.stream()
+                .anyMatch(UidlRequestHandler.class::isInstance));
+
+        List<RequestHandler> allHandlers = new ArrayList<>();
+        service.getRequestHandlers().forEach(allHandlers::add);
+        allHandlers.retainAll(heartbeatHandlers);
+        Assert.assertEquals("Handlers should be invoked in the original order",
+                allHandlers, heartbeatHandlers);
+
+        Assert.assertEquals(
+                StreamSupport
+                        .stream(service.getRequestHandlers().spliterator(),
+                                false)
+                        .count(),
+                service.getRequestHandlerTimings().size());
+    }
+
+    @Test
+    public void requestHandlersForRequestType_untypedHandlersSkippedForTypedRequests() {
+        VaadinService service = createService();
+
+        List<RequestHandler> uidlHandlers = collectRequestHandlers(service,
+                RequestType.UIDL);
+        Assert.assertTrue("Dedicated handler should be the last one invoked",
+                uidlHandlers.get(
+                        uidlHandlers.size() - 1) instanceof UidlRequestHandler);
+        Assert.assertFalse(uidlHandlers.stream()
+                .anyMatch(BootstrapHandler.class::isInstance));
+        Assert.assertFalse(uidlHandlers.stream()
+                .anyMatch(StreamRequestHandler.class::isInstance));
+        Assert.assertFalse(uidlHandlers.stream()
+                .anyMatch(SessionRequestHandler.class::isInstance));
+
+        List<RequestHandler> untypedHandlers = collectRequestHandlers(service,
+                null);
+        Assert.assertTrue(untypedHandlers.stream()
+                .anyMatch(BootstrapHandler.class::isInstance));
+        Assert.assertTrue(untypedHandlers.stream()
+                .anyMatch(StreamRequestHandler.class::isInstance));
+    }
+
+    @Test
+    public void requestHandlersForRequestType_getRequestHandlersOverridden_overriddenHandlersUsed() {
+        RequestHandler customHandler = (session, request, response) -> false;
+        MockVaadinServletService service = new MockVaadinServletService() {
+            @Override
+            public Iterable<RequestHandler> getRequestHandlers() {
+                return Collections.singletonList(customHandler);
+            }
+        };
+        service.init();
+
+        Assert.assertEquals(Collections.singletonList(customHandler),
+                collectRequestHandlers(service, RequestType.UIDL));
+        Assert.assertEquals(Collections.singletonList(customHandler),
+                collectRequestHandlers(service, null));
+    }
+
+    @Test
+    public void handleRequest_handlerThrows_timingRecorded() {
+        RequestHandler failingHandler = (session, request, response) -> {
+            throw new IllegalStateException("Handler failed");
+        };
+        AtomicReference<VaadinSession> session = new AtomicReference<>();
+        MockVaadinServletService service = new MockVaadinServletService() {
+            @Override
+            protected List<RequestHandler> createRequestHandlers() {
+                return new ArrayList<>(
+                        Collections.singletonList(failingHandler));
+            }
+
+            @Override
+            public VaadinSession findVaadinSession(VaadinRequest request) {
+                VaadinSession.setCurrent(session.get());
+                return session.get();
+            }
+        };
+        service.init();
+        session.set(new MockVaadinSession(service));
+        session.get().lock();
+        try {
+            // Don't log the expected exception
+            session.get().setErrorHandler(event -> {
+            });
+        } finally {
+            session.get().unlock();
+        }
+
+        VaadinRequest request = EasyMock.createNiceMock(VaadinRequest.class);
+        EasyMock.expect(request.getAttribute("requestStartTime"))
+                .andReturn(System.nanoTime());
+        EasyMock.replay(request);
+        try {
+            service.handleRequest(request,
+                    EasyMock.createNiceMock(VaadinResponse.class));
+            Assert.fail("Handler exception should be rethrown");
+        } catch (ServiceException e) {
+            Assert.assertSame(IllegalStateException.class,
+                    e.getCause().getClass());
+        }
+
+        RequestHandlerTiming timing = service.getRequestHandlerTimings()
+                .iterator().next();
+        Assert.assertEquals(1, timing.getRequestCount());
+    }
+
+    private static List<RequestHandler> collectRequestHandlers(
+            VaadinService service, RequestType requestType) {
+        List<RequestHandler> handlers = new ArrayList<>();
+        service.getRequestHandlers(requestType).forEach(handlers::add);
+        return handlers;
+    }
+
     private static VaadinService createService() {
         ServletConfig servletConfig = new MockServletConfig();
         VaadinServlet servlet = new VaadinServlet();
@@ -19,6 +19,10 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.atmosphere.cpr.AtmosphereResource;
 import org.easymock.EasyMock;
@@ -26,8 +30,14 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.Constants;
+import com.vaadin.flow.server.MockVaadinServletService;
+import com.vaadin.flow.server.MockVaadinSession;
+import com.vaadin.flow.server.ServiceException;
+import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.communication.AtmospherePushConnection;
 import com.vaadin.flow.server.communication.AtmospherePushConnection.State;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
 
 /**
  * @author Vaadin Ltd
@@ -55,4 +65,119 @@ public class AtmospherePushConnectionTest {
 
         Assert.assertEquals(State.DISCONNECTED, connection.getState());
     }
+
+    @Test
+    public void pushCoalescingWindow_asyncPushesSentAsOneMessage()
+            throws Exception {
+        UI ui = createUIWithCoalescingWindow(50);
+        VaadinSession session = ui.getSession();
+
+        List<String> messages = new CopyOnWriteArrayList<>();
+        CountDownLatch sent = new CountDownLatch(1);
+        AtmospherePushConnection connection = new AtmospherePushConnection(
+                ui) {
+            @Override
+            protected void sendMessage(String message) {
+                messages.add(message);
+                sent.countDown();
+            }
+        };
+        connection.connect(
+                EasyMock.createNiceMock(AtmosphereResource.class));
+
+        session.lock();
+        try {
+            ui.getElement().setText("foo");
+            connection.push();
+            ui.getElement().setText("bar");
+            connection.push();
+
+            Assert.assertTrue(messages.isEmpty());
+        } finally {
+            session.unlock();
+        }
+
+        Assert.assertTrue(sent.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(1, messages.size());
+        Assert.assertTrue(messages.get(0).contains("bar"));
+        Assert.assertFalse(messages.get(0).contains("foo"));
+
+        session.getService().destroy();
+    }
+
+    @Test
+    public void pushCoalescingWindow_responseSentImmediately()
+            throws Exception {
+        UI ui = createUIWithCoalescingWindow(50);
+        VaadinSession session = ui.getSession();
+
+        List<String> messages = new CopyOnWriteArrayList<>();
+        AtmospherePushConnection connection = new AtmospherePushConnection(
+                ui) {
+            @Override
+            protected void sendMessage(String message) {
+                messages.add(message);
+            }
+        };
+        connection.connect(
+                EasyMock.createNiceMock(AtmosphereResource.class));
+
+        session.lock();
+        try {
+            connection.push(false);
+        } finally {
+            session.unlock();
+        }
+
+        Assert.assertEquals(1, messages.size());
+
+        session.getService().destroy();
+    }
+
+    @Test
+    public void pushCoalescingWindow_executorShutDown_pushedImmediately()
+            throws Exception {
+        UI ui = createUIWithCoalescingWindow(50);
+        VaadinSession session = ui.getSession();
+        session.getService().getScheduledExecutor();
+        session.getService().destroy();
+
+        List<String> messages = new CopyOnWriteArrayList<>();
+        AtmospherePushConnection connection = new AtmospherePushConnection(
+                ui) {
+            @Override
+            protected void sendMessage(String message) {
+                messages.add(message);
+            }
+        };
+        connection.connect(
+                EasyMock.createNiceMock(AtmosphereResource.class));
+
+        session.lock();
+        try {
+            ui.getElement().setText("foo");
+            connection.push();
+            ui.getElement().setText("bar");
+            connection.push();
+        } finally {
+            session.unlock();
+        }
+
+        Assert.assertEquals(2, messages.size());
+    }
+
+    private static UI createUIWithCoalescingWindow(int window)
+            throws ServiceException {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                Constants.SERVLET_PARAMETER_PUSH_COALESCING_WINDOW,
+                String.valueOf(window));
+        MockVaadinServletService service = new MockVaadinServletService(
+                configuration);
+        service.init();
+
+        UI ui = new UI();
+        ui.getInternals().setSession(new MockVaadinSession(service));
+        return ui;
+    }
 }
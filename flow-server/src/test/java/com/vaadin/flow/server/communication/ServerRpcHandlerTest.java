@@ -0,0 +1,202 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.JsonUtils;
+import com.vaadin.flow.server.MockServletServiceSessionSetup;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.server.communication.ServerRpcHandler.InvalidUIDLSecurityKeyException;
+import com.vaadin.flow.server.communication.rpc.RpcInvocationHandler;
+import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.flow.shared.JsonConstants;
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
+
+public class ServerRpcHandlerTest {
+
+    private static final String TEST_RPC_TYPE = "test";
+
+    private MockServletServiceSessionSetup mocks;
+    private VaadinRequest request;
+    private UI ui;
+    private Element child;
+
+    private final List<JsonObject> handledInvocations = new ArrayList<>();
+
+    private final ServerRpcHandler rpcHandler = new ServerRpcHandler() {
+        @Override
+        protected Map<String, RpcInvocationHandler> getInvocationHandlers() {
+            return Collections.singletonMap(TEST_RPC_TYPE,
+                    new RpcInvocationHandler() {
+                        @Override
+                        public String getRpcType() {
+                            return TEST_RPC_TYPE;
+                        }
+
+                        @Override
+                        public Optional<Runnable> handle(UI ui,
+                                JsonObject invocationJson) {
+                            handledInvocations.add(invocationJson);
+                            return Optional.empty();
+                        }
+                    });
+        }
+    };
+
+    @Before
+    public void setUp() throws Exception {
+        mocks = new MockServletServiceSessionSetup();
+
+        VaadinSession session = mocks.getSession();
+        session.lock();
+
+        ui = new UI();
+        ui.getInternals().setSession(session);
+        child = new Element("div");
+        ui.getElement().appendChild(child);
+
+        request = Mockito.mock(VaadinRequest.class);
+        Mockito.when(request.getService()).thenReturn(mocks.getService());
+
+        // Send the initial state so that only new changes are pending
+        new UidlWriter().createUidl(ui, false);
+    }
+
+    @After
+    public void tearDown() {
+        mocks.getSession().unlock();
+        mocks.cleanup();
+    }
+
+    @Test
+    public void handleRpc_expectedMessageId_rpcHandledWithoutResynchronization()
+            throws InvalidUIDLSecurityKeyException {
+        rpcHandler.handleRpc(ui, createMessage(0, false), request);
+
+        Assert.assertEquals(1, handledInvocations.size());
+        Assert.assertEquals(0,
+                ui.getInternals().getLastProcessedClientToServerId());
+
+        JsonObject response = new UidlWriter().createUidl(ui, false);
+        Assert.assertFalse(
+                response.hasKey(ApplicationConstants.RESYNCHRONIZE_ID));
+        Assert.assertFalse(isAttached(response, child));
+    }
+
+    @Test
+    public void handleRpc_unexpectedMessageId_rpcSkippedAndFullTreeSent()
+            throws InvalidUIDLSecurityKeyException {
+        rpcHandler.handleRpc(ui, createMessage(5, false), request);
+
+        Assert.assertTrue("Invocations of an unexpected message should be skipped",
+                handledInvocations.isEmpty());
+        Assert.assertEquals(-1,
+                ui.getInternals().getLastProcessedClientToServerId());
+
+        assertResynchronizeResponse();
+    }
+
+    @Test
+    public void handleRpc_duplicateMessage_rpcSkippedAndFullTreeSent()
+            throws InvalidUIDLSecurityKeyException {
+        String message = createMessage(0, false);
+        rpcHandler.handleRpc(ui, message, request);
+        new UidlWriter().createUidl(ui, false);
+
+        rpcHandler.handleRpc(ui, message, request);
+
+        Assert.assertEquals("Duplicate message should not be handled again", 1,
+                handledInvocations.size());
+        assertResynchronizeResponse();
+    }
+
+    @Test
+    public void handleRpc_resynchronizeRequested_rpcHandledAndFullTreeSent()
+            throws InvalidUIDLSecurityKeyException {
+        rpcHandler.handleRpc(ui, createMessage(0, true), request);
+
+        Assert.assertEquals(1, handledInvocations.size());
+        Assert.assertEquals(0,
+                ui.getInternals().getLastProcessedClientToServerId());
+
+        assertResynchronizeResponse();
+    }
+
+    private void assertResynchronizeResponse() {
+        JsonObject response = new UidlWriter().createUidl(ui, false);
+        Assert.assertTrue(
+                response.getBoolean(ApplicationConstants.RESYNCHRONIZE_ID));
+        Assert.assertTrue(
+                "Resynchronize response should contain the root node state",
+                hasChanges(response, ui.getElement()));
+        Assert.assertTrue("Resynchronize response should contain the child",
+                isAttached(response, child));
+
+        JsonObject nextResponse = new UidlWriter().createUidl(ui, false);
+        Assert.assertFalse("Only one response should resynchronize",
+                nextResponse.hasKey(ApplicationConstants.RESYNCHRONIZE_ID));
+    }
+
+    private static boolean hasChanges(JsonObject response, Element element) {
+        int nodeId = element.getNode().getId();
+        return JsonUtils.<JsonObject> stream(response.getArray("changes"))
+                .anyMatch(change -> (int) change
+                        .getNumber(JsonConstants.CHANGE_NODE) == nodeId);
+    }
+
+    private static boolean isAttached(JsonObject response, Element element) {
+        int nodeId = element.getNode().getId();
+        return JsonUtils.<JsonObject> stream(response.getArray("changes"))
+                .anyMatch(change -> JsonConstants.CHANGE_TYPE_ATTACH
+                        .equals(change.getString(JsonConstants.CHANGE_TYPE))
+                        && (int) change.getNumber(
+                                JsonConstants.CHANGE_NODE) == nodeId);
+    }
+
+    private String createMessage(int clientToServerId, boolean resynchronize) {
+        JsonObject invocation = Json.createObject();
+        invocation.put(JsonConstants.RPC_TYPE, TEST_RPC_TYPE);
+
+        JsonObject message = Json.createObject();
+        message.put(ApplicationConstants.CSRF_TOKEN, ui.getCsrfToken());
+        message.put(ApplicationConstants.SERVER_SYNC_ID,
+                ui.getInternals().getServerSyncId());
+        message.put(ApplicationConstants.CLIENT_TO_SERVER_ID,
+                clientToServerId);
+        if (resynchronize) {
+            message.put(ApplicationConstants.RESYNCHRONIZE_ID, true);
+        }
+        message.put(ApplicationConstants.RPC_INVOCATIONS,
+                JsonUtils.createArray(invocation));
+        return message.toJson();
+    }
+}
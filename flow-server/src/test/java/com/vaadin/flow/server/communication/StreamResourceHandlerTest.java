@@ -0,0 +1,278 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.server.RangeStreamResource;
+import com.vaadin.flow.server.SeekableChannelFactory;
+import com.vaadin.flow.server.VaadinResponse;
+import com.vaadin.flow.server.VaadinServletRequest;
+import com.vaadin.flow.server.VaadinSession;
+
+public class StreamResourceHandlerTest {
+
+    private static final String DATA = "0123456789abcdefghij";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private StreamResourceHandler handler = new StreamResourceHandler();
+    private VaadinSession session = Mockito.mock(VaadinSession.class);
+    private VaadinServletRequest request = Mockito
+            .mock(VaadinServletRequest.class);
+    private VaadinResponse response = Mockito.mock(VaadinResponse.class);
+    private ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private Map<String, String> headers = new HashMap<>();
+    private int status = HttpServletResponse.SC_OK;
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = temporaryFolder.newFile("data.txt");
+        Files.write(file.toPath(), DATA.getBytes(StandardCharsets.UTF_8));
+        file.setLastModified(1500000000000L);
+
+        Mockito.when(request.getServletContext())
+                .thenReturn(Mockito.mock(ServletContext.class));
+        Mockito.when(request.getDateHeader(Matchers.anyString()))
+                .thenReturn(-1L);
+        Mockito.when(response.getOutputStream()).thenReturn(output);
+        Mockito.doAnswer(invocation -> headers.put(
+                (String) invocation.getArguments()[0],
+                (String) invocation.getArguments()[1])).when(response)
+                .setHeader(Matchers.anyString(), Matchers.anyString());
+        Mockito.doAnswer(invocation -> {
+            status = (int) invocation.getArguments()[0];
+            return null;
+        }).when(response).setStatus(Matchers.anyInt());
+    }
+
+    @Test
+    public void rangeResource_noRange_fullContentWithoutSessionLock()
+            throws IOException {
+        handleRequest(new RangeStreamResource("data.txt", file));
+
+        Assert.assertEquals(HttpServletResponse.SC_OK, status);
+        Assert.assertEquals(DATA, getOutput());
+        Assert.assertEquals("bytes", headers.get("Accept-Ranges"));
+        Assert.assertEquals("20", headers.get("Content-Length"));
+        Assert.assertNotNull(headers.get("ETag"));
+        Mockito.verify(response).setDateHeader("Last-Modified",
+                1500000000000L);
+        // Lock is only held when resolving the resource properties
+        Mockito.verify(session, Mockito.times(1)).lock();
+    }
+
+    @Test
+    public void rangeResource_byteRange_partialContent() throws IOException {
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=5-9");
+        handleRequest(new RangeStreamResource("data.txt", file));
+
+        Assert.assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, status);
+        Assert.assertEquals("56789", getOutput());
+        Assert.assertEquals("bytes 5-9/20", headers.get("Content-Range"));
+        Assert.assertEquals("5", headers.get("Content-Length"));
+    }
+
+    @Test
+    public void rangeResource_openEndedAndSuffixRanges_partialContent()
+            throws IOException {
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=15-");
+        handleRequest(new RangeStreamResource("data.txt", file));
+        Assert.assertEquals("fghij", getOutput());
+        Assert.assertEquals("bytes 15-19/20", headers.get("Content-Range"));
+
+        output.reset();
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=-3");
+        handleRequest(new RangeStreamResource("data.txt", file));
+        Assert.assertEquals("hij", getOutput());
+        Assert.assertEquals("bytes 17-19/20", headers.get("Content-Range"));
+
+        output.reset();
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=18-100");
+        handleRequest(new RangeStreamResource("data.txt", file));
+        Assert.assertEquals("ij", getOutput());
+        Assert.assertEquals("bytes 18-19/20", headers.get("Content-Range"));
+    }
+
+    @Test
+    public void rangeResource_unsatisfiableRange_rangeNotSatisfiable()
+            throws IOException {
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=20-25");
+        handleRequest(new RangeStreamResource("data.txt", file));
+
+        Assert.assertEquals(
+                HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE,
+                status);
+        Assert.assertEquals("bytes */20", headers.get("Content-Range"));
+        Assert.assertEquals("", getOutput());
+    }
+
+    @Test
+    public void rangeResource_invalidOrMultipleRanges_fullContent()
+            throws IOException {
+        for (String range : new String[] { "bytes=0-1,5-6", "bytes=5-2",
+                "items=0-1", "bytes=a-b" }) {
+            output.reset();
+            Mockito.when(request.getHeader("Range")).thenReturn(range);
+            handleRequest(new RangeStreamResource("data.txt", file));
+
+            Assert.assertEquals(range, HttpServletResponse.SC_OK, status);
+            Assert.assertEquals(range, DATA, getOutput());
+        }
+    }
+
+    @Test
+    public void rangeResource_ifRangeMatches_partialContent()
+            throws IOException {
+        handleRequest(new RangeStreamResource("data.txt", file));
+        String eTag = headers.get("ETag");
+        output.reset();
+
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=0-1");
+        Mockito.when(request.getHeader("If-Range")).thenReturn(eTag);
+        handleRequest(new RangeStreamResource("data.txt", file));
+
+        Assert.assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, status);
+        Assert.assertEquals("01", getOutput());
+    }
+
+    @Test
+    public void rangeResource_ifRangeDoesNotMatch_fullContent()
+            throws IOException {
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=0-1");
+        Mockito.when(request.getHeader("If-Range")).thenReturn("\"other\"");
+        handleRequest(new RangeStreamResource("data.txt", file));
+
+        Assert.assertEquals(HttpServletResponse.SC_OK, status);
+        Assert.assertEquals(DATA, getOutput());
+    }
+
+    @Test
+    public void rangeResource_ifNoneMatchMatches_notModified()
+            throws IOException {
+        handleRequest(new RangeStreamResource("data.txt", file));
+        String eTag = headers.get("ETag");
+        output.reset();
+
+        Mockito.when(request.getHeader("If-None-Match")).thenReturn(eTag);
+        handleRequest(new RangeStreamResource("data.txt", file));
+
+        Assert.assertEquals(HttpServletResponse.SC_NOT_MODIFIED, status);
+        Assert.assertEquals("", getOutput());
+    }
+
+    @Test
+    public void rangeResource_nonFileChannel_partialContent()
+            throws IOException {
+        SeekableChannelFactory factory = () -> new InMemoryChannel(
+                DATA.getBytes(StandardCharsets.UTF_8));
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=10-14");
+        handleRequest(new RangeStreamResource("data.txt", factory));
+
+        Assert.assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, status);
+        Assert.assertEquals("abcde", getOutput());
+        // No modification time, so no validators
+        Assert.assertNull(headers.get("ETag"));
+    }
+
+    private void handleRequest(RangeStreamResource resource)
+            throws IOException {
+        status = HttpServletResponse.SC_OK;
+        headers.clear();
+        handler.handleRequest(session, request, response, resource);
+    }
+
+    private String getOutput() {
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static class InMemoryChannel implements SeekableByteChannel {
+        private final byte[] data;
+        private int position;
+
+        private InMemoryChannel(byte[] data) {
+            this.data = data;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            if (position >= data.length) {
+                return -1;
+            }
+            int length = Math.min(dst.remaining(), data.length - position);
+            dst.put(data, position, length);
+            position += length;
+            return length;
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long position() {
+            return position;
+        }
+
+        @Override
+        public SeekableByteChannel position(long newPosition) {
+            position = (int) newPosition;
+            return this;
+        }
+
+        @Override
+        public long size() {
+            return data.length;
+        }
+
+        @Override
+        public SeekableByteChannel truncate(long size) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package com.vaadin.flow.server.communication;
 
 import javax.servlet.http.HttpServletRequest;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -45,6 +46,7 @@ import com.vaadin.flow.router.ParentLayout;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.router.RouteConfiguration;
 import com.vaadin.flow.router.RouterLayout;
+import com.vaadin.flow.server.Constants;
 import com.vaadin.flow.server.MockServletServiceSessionSetup;
 import com.vaadin.flow.server.VaadinServletRequest;
 import com.vaadin.flow.server.VaadinSession;
@@ -311,6 +313,78 @@ public class UidlWriterTest {
         assertInlineDependencies(inlineDependencies, "/frontend/");
     }
 
+    @Test
+    public void writeUidl_writesChangesAndDependenciesAsJson()
+            throws Exception {
+        UI ui = initializeUIForDependenciesTest(new TestUI());
+        UidlWriter uidlWriter = new UidlWriter();
+        addInitialComponentDependencies(ui, uidlWriter);
+
+        ui.add(new ComponentWithAllDependencyTypes());
+        StringWriter writer = new StringWriter();
+        uidlWriter.writeUidl(ui, false, writer);
+
+        JsonObject response = Json.parse(writer.toString());
+        assertTrue(response.hasKey(ApplicationConstants.SERVER_SYNC_ID));
+        assertTrue(response.hasKey(ApplicationConstants.CLIENT_TO_SERVER_ID));
+        assertTrue("Expected the attached component to produce changes",
+                response.getArray("changes").length() > 0);
+        for (LoadMode mode : LoadMode.values()) {
+            assertTrue("Expected dependencies with load mode " + mode,
+                    response.hasKey(mode.name()));
+        }
+        assertInlineDependencies(
+                JsonUtils.<JsonObject> stream(
+                        response.getArray(LoadMode.INLINE.name()))
+                        .collect(Collectors.toList()),
+                "/frontend/");
+
+        // nothing has changed, so only the ids should be written
+        writer = new StringWriter();
+        uidlWriter.writeUidl(ui, false, writer);
+        response = Json.parse(writer.toString());
+        assertFalse(response.hasKey("changes"));
+        assertFalse(response.hasKey(LoadMode.EAGER.name()));
+    }
+
+    @Test
+    public void writeUidl_parallelEncoding_sameChangesAsSerialEncoding()
+            throws Exception {
+        String serialChanges = writeChangesOfLargeView(0);
+        mocks.cleanup();
+        String parallelChanges = writeChangesOfLargeView(1);
+
+        assertEquals(serialChanges, parallelChanges);
+    }
+
+    private String writeChangesOfLargeView(int parallelThreshold)
+            throws Exception {
+        UI ui = initializeUIForDependenciesTest(new TestUI());
+        mocks.getDeploymentConfiguration().setApplicationOrSystemProperty(
+                Constants.SERVLET_PARAMETER_PARALLEL_CHANGE_ENCODING_THRESHOLD,
+                String.valueOf(parallelThreshold));
+
+        for (int i = 0; i < 100; i++) {
+            Element div = ElementFactory.createDiv("Item " + i);
+            div.setAttribute("id", "item" + i);
+            div.addEventListener("click", event -> {
+            }).setFilter("event.button === " + i % 10);
+            ui.getElement().appendChild(div);
+        }
+
+        StringWriter writer = new StringWriter();
+        new UidlWriter().writeUidl(ui, false, writer);
+        JsonObject response = Json.parse(writer.toString());
+        assertTrue(ui.getInternals().getConstantPool().dumpConstants()
+                .keys().length == 0);
+        // Constants are not written in any particular order
+        JsonObject constants = response.getObject("constants");
+        return response.getArray("changes").toJson() + Stream
+                .of(constants.keys()).sorted()
+                .map(key -> key + "=" + constants.get(key).toJson())
+                .collect(Collectors.joining(","));
+    }
+
     @Test
     @Ignore("See https://github.com/vaadin/flow/issues/3822")
     public void parentViewDependenciesAreAddedFirst_npmMode() throws Exception {
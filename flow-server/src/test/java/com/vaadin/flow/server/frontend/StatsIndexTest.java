@@ -0,0 +1,144 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.server.VaadinContext;
+import com.vaadin.flow.server.VaadinService;
+
+import static com.vaadin.flow.server.Constants.SERVLET_PARAMETER_STATISTICS_JSON;
+import static com.vaadin.flow.server.Constants.STATISTICS_JSON_DEFAULT;
+import static com.vaadin.flow.server.Constants.VAADIN_SERVLET_RESOURCES;
+
+public class StatsIndexTest {
+
+    private static final String STATS_TEMPLATE = "{\n" //
+            + "  \"hash\": \"%s\",\n" //
+            + "  \"assetsByChunkName\" :{\n" //
+            + "    \"index\": \"build/index-1111.cache.js\"\n" //
+            + "  },\n" //
+            + "  \"modules\": [\n" //
+            + "    {\n" //
+            + "      \"name\": \"./frontend/my-element.js\",\n" //
+            + "      \"source\": \"%s\"\n" //
+            + "    }\n" //
+            + "  ]\n" //
+            + "}\n";
+
+    private VaadinService service = Mockito.mock(VaadinService.class);
+    private DeploymentConfiguration configuration = Mockito
+            .mock(DeploymentConfiguration.class);
+    private AtomicReference<String> stats = new AtomicReference<>();
+    private AtomicInteger statsReads = new AtomicInteger();
+
+    private StatsIndex index = new StatsIndex();
+
+    @Before
+    public void setUp() {
+        ClassLoader classLoader = Mockito.mock(ClassLoader.class);
+        Mockito.when(service.getClassLoader()).thenReturn(classLoader);
+        Mockito.when(service.getDeploymentConfiguration())
+                .thenReturn(configuration);
+        Mockito.when(configuration.getStringProperty(
+                SERVLET_PARAMETER_STATISTICS_JSON,
+                VAADIN_SERVLET_RESOURCES + STATISTICS_JSON_DEFAULT))
+                .thenReturn(VAADIN_SERVLET_RESOURCES + STATISTICS_JSON_DEFAULT);
+        Mockito.when(classLoader.getResourceAsStream(
+                VAADIN_SERVLET_RESOURCES + STATISTICS_JSON_DEFAULT))
+                .thenAnswer(invocation -> {
+                    statsReads.incrementAndGet();
+                    return new ByteArrayInputStream(
+                            stats.get().getBytes(StandardCharsets.UTF_8));
+                });
+        setStats("1111", "first");
+    }
+
+    @Test
+    public void productionMode_statsReadOnceForAssetsAndOnceForSources()
+            throws IOException {
+        Mockito.when(configuration.isProductionMode()).thenReturn(true);
+
+        Assert.assertEquals("{\"index\": \"build/index-1111.cache.js\"}",
+                index.getAssetsByChunkName(service));
+        Assert.assertEquals("first",
+                index.getModuleSource(service, "./frontend/my-element.js"));
+
+        setStats("2222", "second");
+        Assert.assertEquals("{\"index\": \"build/index-1111.cache.js\"}",
+                index.getAssetsByChunkName(service));
+        Assert.assertEquals("first",
+                index.getModuleSource(service, "./frontend/my-element.js"));
+        Assert.assertNull(
+                index.getModuleSource(service, "./frontend/missing.js"));
+        Assert.assertEquals(2, statsReads.get());
+    }
+
+    @Test
+    public void developmentModeWithoutDevServer_statsReadForEachLookup()
+            throws IOException {
+        Assert.assertEquals("first",
+                index.getModuleSource(service, "./frontend/my-element.js"));
+        Assert.assertEquals("first",
+                index.getModuleSource(service, "./frontend/my-element.js"));
+        Assert.assertEquals(2, statsReads.get());
+
+        setStats("2222", "second");
+        Assert.assertEquals("second",
+                index.getModuleSource(service, "./frontend/my-element.js"));
+    }
+
+    @Test
+    public void missingStats_noSource() throws IOException {
+        Mockito.when(configuration.isProductionMode()).thenReturn(true);
+        Mockito.when(service.getClassLoader().getResourceAsStream(
+                VAADIN_SERVLET_RESOURCES + STATISTICS_JSON_DEFAULT))
+                .thenReturn(null);
+
+        Assert.assertNull(
+                index.getModuleSource(service, "./frontend/my-element.js"));
+    }
+
+    @Test
+    public void getInstance_sharedThroughContext() {
+        VaadinContext context = Mockito.mock(VaadinContext.class);
+        StatsIndex shared = new StatsIndex();
+        Mockito.when(service.getContext()).thenReturn(context);
+        Mockito.when(context.getAttribute(Mockito.eq(StatsIndex.class),
+                Mockito.any())).thenReturn(shared);
+
+        Assert.assertSame(shared, StatsIndex.getInstance(service));
+    }
+
+    @Test
+    public void getInstance_noContext_notNull() {
+        Assert.assertNotNull(StatsIndex.getInstance(service));
+    }
+
+    private void setStats(String hash, String source) {
+        stats.set(String.format(STATS_TEMPLATE, hash, source));
+    }
+}
@@ -1,8 +1,10 @@
 package com.vaadin.flow.server.startup;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
@@ -17,7 +19,9 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import com.vaadin.flow.component.Component;
 import com.vaadin.flow.router.RouteBaseData;
+import com.vaadin.flow.router.internal.NavigationRouteTarget;
 import com.vaadin.flow.server.RouteRegistry;
 
 /**
@@ -358,6 +362,31 @@ public class ApplicationRouteRegistryTest extends RouteRegistryTestBase {
         return registry;
     }
 
+    @Test
+    public void getNavigationRouteTarget_navigationTargetOverridden_overridingMethodUsed() {
+        ApplicationRouteRegistry overridingRegistry = new ApplicationRouteRegistry() {
+            @Override
+            public Optional<Class<? extends Component>> getNavigationTarget(
+                    String pathString, List<String> segments) {
+                if ("custom".equals(pathString) && segments.isEmpty()) {
+                    return Optional.of(MyRoute.class);
+                }
+                return super.getNavigationTarget(pathString, segments);
+            }
+        };
+        overridingRegistry.setRoute("info", MyInfo.class,
+                Collections.emptyList());
+
+        NavigationRouteTarget target = overridingRegistry
+                .getNavigationRouteTarget(Arrays.asList("custom")).get();
+        Assert.assertEquals("custom", target.getPath());
+        Assert.assertEquals(MyRoute.class, target.getTarget());
+
+        Assert.assertEquals(MyInfo.class, overridingRegistry
+                .getNavigationRouteTarget(Arrays.asList("info")).get()
+                .getTarget());
+    }
+
     @Override
     protected RouteRegistry getTestedRegistry() {
         return registry;